@@ -1,11 +1,7 @@
 package com.app;
 
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 @org.springframework.scheduling.annotation.EnableScheduling
@@ -15,12 +11,4 @@ public class Application {
 		SpringApplication.run(Application.class, args);
 	}
 
-	@Bean // equivalent to <bean id ..../> in xml file
-	public ModelMapper mapper() {
-		ModelMapper modelMapper = new ModelMapper();
-		modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT)
-				.setPropertyCondition(Conditions.isNotNull());
-		return modelMapper;
-	}
-
 }
\ No newline at end of file
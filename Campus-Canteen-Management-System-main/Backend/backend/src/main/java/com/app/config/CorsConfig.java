@@ -38,10 +38,12 @@ public class CorsConfig implements WebMvcConfigurer {
                 corsConfiguration.setAllowedHeaders(Arrays.asList(
                                 "Origin", "Access-Control-Allow-Origin", "Content-Type",
                                 "Accept", "Authorization", "Origin, Accept", "X-Requested-With",
-                                "Access-Control-Request-Method", "Access-Control-Request-Headers"));
+                                "Access-Control-Request-Method", "Access-Control-Request-Headers",
+                                "Last-Event-ID", "If-None-Match"));
                 corsConfiguration.setExposedHeaders(Arrays.asList(
                                 "Origin", "Content-Type", "Accept", "Authorization",
-                                "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials"));
+                                "Access-Control-Allow-Origin", "Access-Control-Allow-Credentials",
+                                "Content-Disposition", "ETag"));
                 corsConfiguration.setAllowedMethods(Arrays.asList(
                                 "GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 
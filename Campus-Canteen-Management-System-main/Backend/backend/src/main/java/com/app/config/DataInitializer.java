@@ -8,6 +8,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import com.app.entities.Role;
 import com.app.entities.User;
 import com.app.repository.UserRepository;
+import com.app.service.WalletLedgerService;
 
 @Configuration
 public class DataInitializer {
@@ -34,4 +35,10 @@ public class DataInitializer {
                 );
         };
     }
+
+    @Bean
+    CommandLineRunner seedWalletLedger(WalletLedgerService walletLedgerService) {
+
+        return args -> walletLedgerService.seedOpeningBalances();
+    }
 }
@@ -0,0 +1,49 @@
+package com.app.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Orders, carts, daily items, recharges and students get their ids from
+ * pooled table-backed sequences (MySQL has no native sequences) so Hibernate
+ * can batch their INSERTs. Tables that already hold IDENTITY-generated rows
+ * need their sequence moved past the highest existing id, otherwise the first
+ * pooled block would collide with old rows. Runs once the schema exists and
+ * before the web server accepts requests.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    // Must match allocationSize of the @SequenceGenerator mappings
+    private static final int ALLOCATION_SIZE = 50;
+
+    // { sequence table, entity table, id column }
+    private static final String[][] SEQUENCES = {
+            { "orders_seq", "orders", "order_id" },
+            { "carts_seq", "carts", "cart_id" },
+            { "item_daily_seq", "item_daily", "daily_id" },
+            { "recharge_history_seq", "recharge_history", "transaction_id" },
+            { "students_seq", "students", "student_id" }
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory dependency makes sure the Flyway migrations have run first
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        for (String[] sequence : SEQUENCES) {
+            // The pooled optimizer hands out (next_val - allocation, next_val], so the
+            // stored value must clear max(id) by a whole block
+            jdbcTemplate.update("UPDATE " + sequence[0] + " SET next_val = GREATEST(next_val, "
+                    + "(SELECT COALESCE(MAX(" + sequence[2] + "), 0) + " + (ALLOCATION_SIZE + 1)
+                    + " FROM " + sequence[1] + "))");
+        }
+    }
+}
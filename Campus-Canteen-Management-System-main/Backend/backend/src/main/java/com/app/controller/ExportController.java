@@ -0,0 +1,68 @@
+package com.app.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.dto.ExportFormat;
+import com.app.service.ExportService;
+
+// Finance downloads; rows are written to the response while they are read
+@RestController
+@RequestMapping("/admin/exports")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // e.g. /admin/exports/orders?from=2026-09-01&to=2026-09-30&format=ndjson
+    @GetMapping("/orders")
+    public void exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = prepare("orders", from, to, format, response);
+        exportService.exportOrders(from, to, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/recharges")
+    public void exportRecharges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = prepare("recharges", from, to, format, response);
+        exportService.exportRecharges(from, to, exportFormat, response.getOutputStream());
+    }
+
+    // Validates before anything is written, so bad parameters still get a 400 body
+    private static ExportFormat prepare(String name, LocalDate from, LocalDate to, String format,
+            HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "_" + from + "_" + to + "." + exportFormat.getExtension())
+                .build()
+                .toString());
+        return exportFormat;
+    }
+}
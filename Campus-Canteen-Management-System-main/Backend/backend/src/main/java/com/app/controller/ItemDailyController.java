@@ -4,11 +4,14 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.app.dto.ItemDailyDTO;
+import com.app.service.CatalogVersions;
 import com.app.service.ItemDailyService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,10 +24,20 @@ public class ItemDailyController {
     @Autowired
     private ItemDailyService itemService;
 
-    // ✅ GET all daily items
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // ✅ GET all daily items (304 after one primary key read while the menu is unchanged)
     @GetMapping
-    public ResponseEntity<?> getAllItemDetails() {
-        return ResponseEntity.ok(itemService.getAllDailyItems());
+    public ResponseEntity<?> getAllItemDetails(WebRequest request) {
+        String eTag = catalogVersions.getDailyItemsETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(itemService.getAllDailyItems());
     }
 
     // ✅ GET single daily item
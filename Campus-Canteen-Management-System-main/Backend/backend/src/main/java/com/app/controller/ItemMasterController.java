@@ -1,9 +1,15 @@
 package com.app.controller;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,9 +19,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.app.dto.ImageSize;
+import com.app.dto.ItemImageDTO;
 import com.app.dto.ItemMasterDTO;
+import com.app.service.CatalogVersions;
+import com.app.service.ImageRenditions;
+import com.app.service.ImageRenditions.Rendition;
+import com.app.service.MappedImageStore;
+import com.app.service.ItemImageService;
 import com.app.service.ItemMasterService;
 
 @RestController
@@ -23,14 +38,36 @@ import com.app.service.ItemMasterService;
 @CrossOrigin(origins = "http://localhost:5173")
 public class ItemMasterController {
 
+	// Tomcat serves a file named in these request attributes itself, with sendfile
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
 	@Autowired
 	private ItemMasterService itemService;
 
+	@Autowired
+	private CatalogVersions catalogVersions;
+
+	@Autowired
+	private ItemImageService imageService;
+
+	@Autowired
+	private ImageRenditions renditions;
+
+	// 304 after one primary key read while the catalog is unchanged
 	@GetMapping
-	public ResponseEntity<?> getAllItemMasterDetails() {
+	public ResponseEntity<?> getAllItemMasterDetails(WebRequest request) {
 		System.out.println("in get all item master");
-		return ResponseEntity
-				.ok(itemService.getAllMatserItems());
+		String eTag = catalogVersions.getItemsETag();
+		if (request.checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+		}
+		return ResponseEntity.ok()
+				.eTag(eTag)
+				.cacheControl(CacheControl.noCache())
+				.body(itemService.getAllMatserItems());
 	}
 
 	@GetMapping("/{itemId}")
@@ -41,6 +78,45 @@ public class ItemMasterController {
 
 	}
 
+	// Public (img tags send no token). The URL in the item DTOs carries the content
+	// hash as ?v=, so that exact URL never changes and may be cached for a year;
+	// other requests revalidate against the content-hash ETag. ?size= picks the
+	// thumb, card or full rendition, which is sent from the mapped image pack
+	// without passing through the heap; until it exists the original is sent
+	// from the database.
+	@GetMapping("/{itemId}/image")
+	public ResponseEntity<?> getItemImage(@PathVariable Long itemId,
+			@RequestParam(required = false) String v, @RequestParam(defaultValue = "full") String size,
+			WebRequest webRequest, HttpServletRequest request) {
+		ImageSize imageSize = ImageSize.parse(size);
+		ItemImageDTO image = imageService.getImageInfo(itemId);
+		String eTag = "\"" + image.getSha256() + "-" + imageSize.name().toLowerCase() + "\"";
+		CacheControl cacheControl = image.getSha256().equals(v)
+				? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+				: CacheControl.noCache();
+		if (webRequest.checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+		}
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl);
+
+		Optional<Rendition> rendition = renditions.find(itemId, image.getSha256(), imageSize);
+		if (rendition.isEmpty()) {
+			return response.contentType(MediaType.parseMediaType(image.getContentType()))
+					.body(imageService.getImageContent(itemId));
+		}
+		response.contentType(rendition.get().original()
+				? MediaType.parseMediaType(image.getContentType())
+				: MediaType.IMAGE_JPEG);
+		MappedImageStore.Region region = rendition.get().region();
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, region.file().toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, region.offset());
+			request.setAttribute(SENDFILE_END, region.offset() + region.length());
+			return response.contentLength(region.length()).build();
+		}
+		return response.body(region.asResource());
+	}
+
 	@PostMapping
 	public ResponseEntity<?> addNewItem(@RequestBody @Valid ItemMasterDTO item) {
 		System.out.println("in add item " + item);
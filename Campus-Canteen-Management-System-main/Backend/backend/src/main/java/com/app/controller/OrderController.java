@@ -5,6 +5,7 @@ import java.io.IOException;
 import jakarta.validation.Valid;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +13,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.app.dto.BulkStatusUpdateDTO;
+import com.app.dto.BulkStatusUpdateRequest;
 import com.app.dto.CreateOrderDTO;
 import com.app.dto.OrderDTO;
 import com.app.dto.PlaceOrderRequest;
+import com.app.dto.QueuePositionDTO;
 import com.app.entities.OrderStatus;
+import com.app.service.OrderEventBroadcaster;
+import com.app.service.OrderGroupCommitter;
 import com.app.service.OrderService;
 
 @RestController
@@ -28,42 +36,88 @@ import com.app.service.OrderService;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderGroupCommitter groupCommitter;
+    private final OrderEventBroadcaster eventBroadcaster;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderGroupCommitter groupCommitter,
+            OrderEventBroadcaster eventBroadcaster) {
         this.orderService = orderService;
+        this.groupCommitter = groupCommitter;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
+    // Live ORDER_PLACED / ORDER_STATUS_CHANGED feed for the kitchen screens (SSE).
+    // Reconnect with Last-Event-ID (header, or lastEventId param) to resume; a RESYNC
+    // event means events were missed and the pending list should be reloaded.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        return eventBroadcaster.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    // The listings below return the whole list as before. With ?limit=N they return
+    // one keyset page {orders, nextCursor}; pass nextCursor back as ?after= for the next one.
+
     @GetMapping("/pending")
-    public ResponseEntity<?> getPendingOrders() {
+    public ResponseEntity<?> getPendingOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit != null || after != null) {
+            return ResponseEntity.ok(orderService.getOrderPageByStatus(OrderStatus.PENDING, after, pageLimit(limit)));
+        }
         // Return PENDING orders for admin to manage
         java.util.List<OrderDTO> pendingOrders = orderService.getOrdersByStatus(OrderStatus.PENDING);
         return ResponseEntity.ok(pendingOrders);
     }
 
     @GetMapping("/served")
-    public ResponseEntity<?> getFulfilledOrders() {
+    public ResponseEntity<?> getFulfilledOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit != null || after != null) {
+            return ResponseEntity.ok(orderService.getOrderPageByStatus(OrderStatus.SERVED, after, pageLimit(limit)));
+        }
         return ResponseEntity.ok(orderService.getOrdersByStatus(OrderStatus.SERVED));
     }
 
     @GetMapping("/completed")
-    public ResponseEntity<?> getCompletedOrders() {
+    public ResponseEntity<?> getCompletedOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
         // Return SERVED orders (completed orders)
+        if (limit != null || after != null) {
+            return ResponseEntity.ok(orderService.getOrderPageByStatus(OrderStatus.SERVED, after, pageLimit(limit)));
+        }
         return ResponseEntity.ok(orderService.getOrdersByStatus(OrderStatus.SERVED));
     }
 
+    // Returns the CompletableFuture (async dispatch) only in group-commit mode; otherwise
+    // the ResponseEntity itself, so a plain order stays one synchronous request
     @PostMapping("/{studentId}/orders")
-    public ResponseEntity<CreateOrderDTO> placeOrder(
+    public Object placeOrder(
             @PathVariable Long studentId,
             @Valid @RequestBody PlaceOrderRequest request) {
 
+        // Group-commit mode: the order is committed together with others that arrive
+        // within a few milliseconds, and the request completes once that batch commits
+        if (groupCommitter.isEnabled()) {
+            return groupCommitter.submit(studentId, request)
+                    .thenApply(orderDTO -> ResponseEntity.status(HttpStatus.CREATED).body(orderDTO));
+        }
         CreateOrderDTO orderDTO = orderService.placeOrder(studentId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(orderDTO);
     }
 
     @GetMapping("/students/{studentId}")
     public ResponseEntity<?> getOrderDetailsByStudent(
-            @PathVariable Long studentId) throws IOException {
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) throws IOException {
 
+        if (limit != null || after != null) {
+            return ResponseEntity.ok(orderService.getOrderPageByStudentId(studentId, after, pageLimit(limit)));
+        }
         return ResponseEntity.ok(orderService.getAllOrdersByStudentId(studentId));
     }
 
@@ -72,6 +126,11 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrderById(orderId));
     }
 
+    @GetMapping("/{orderId}/position")
+    public ResponseEntity<QueuePositionDTO> getQueuePosition(@PathVariable Long orderId) {
+        return ResponseEntity.ok(orderService.getQueuePosition(orderId));
+    }
+
     @GetMapping("/pending/count")
     public ResponseEntity<Long> getCountOfPendingOrders() {
         return ResponseEntity.ok(
@@ -84,6 +143,13 @@ public class OrderController {
                 orderService.getCountOfOrdersByStatus(OrderStatus.SERVED));
     }
 
+    // Moves many orders to one status in a single UPDATE (e.g. mark a batch SERVED)
+    @PutMapping("/status")
+    public ResponseEntity<BulkStatusUpdateDTO> updateOrderStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus()));
+    }
+
     @PutMapping("/{orderId}/status")
     public ResponseEntity<OrderDTO> updateOrderStatus(
             @PathVariable Long orderId,
@@ -91,4 +157,9 @@ public class OrderController {
         OrderDTO updatedOrder = orderService.updateOrderStatus(orderId, status);
         return ResponseEntity.ok(updatedOrder);
     }
+
+    // Page size when only a cursor is given
+    private static int pageLimit(Integer limit) {
+        return limit == null ? 20 : limit;
+    }
 }
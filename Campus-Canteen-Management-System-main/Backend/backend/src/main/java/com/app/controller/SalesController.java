@@ -0,0 +1,71 @@
+package com.app.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.dto.ApiResponse;
+import com.app.dto.CategorySalesDTO;
+import com.app.dto.ItemSalesDTO;
+import com.app.dto.SalesPeriod;
+import com.app.dto.SalesPointDTO;
+import com.app.service.SalesService;
+
+// Dashboard figures, served from the daily sales rollups; from / to default to today
+@RestController
+@RequestMapping("/admin/sales")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SalesController {
+
+    private final SalesService salesService;
+
+    public SalesController(SalesService salesService) {
+        this.salesService = salesService;
+    }
+
+    // e.g. /admin/sales/revenue?from=2026-09-01&to=2026-09-30&groupBy=week
+    @GetMapping("/revenue")
+    public ResponseEntity<List<SalesPointDTO>> getRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy) {
+        return ResponseEntity.ok(salesService.getRevenue(orToday(from), orToday(to), SalesPeriod.parse(groupBy)));
+    }
+
+    @GetMapping("/top-items")
+    public ResponseEntity<List<ItemSalesDTO>> getTopItems(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(salesService.getTopItems(orToday(from), orToday(to), limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> getCategorySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesService.getCategorySales(orToday(from), orToday(to)));
+    }
+
+    // Backfill / repair: recompute both rollups for the days from the order history
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int rows = salesService.rebuild(from, to);
+        return ResponseEntity.ok(new ApiResponse("Sales rollups rebuilt from " + from + " to " + to
+                + " (" + rows + " item rows)"));
+    }
+
+    private static LocalDate orToday(LocalDate date) {
+        return date == null ? LocalDate.now() : date;
+    }
+}
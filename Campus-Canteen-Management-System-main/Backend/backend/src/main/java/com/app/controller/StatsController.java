@@ -0,0 +1,31 @@
+package com.app.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.dto.LiveStatsDTO;
+import com.app.service.LiveStats;
+
+@RestController
+@RequestMapping("/admin/stats")
+@CrossOrigin(origins = "http://localhost:5173")
+public class StatsController {
+
+    private final LiveStats liveStats;
+
+    public StatsController(LiveStats liveStats) {
+        this.liveStats = liveStats;
+    }
+
+    // Live dashboard figures from memory, e.g. /admin/stats/live?windowMinutes=15&top=5
+    @GetMapping("/live")
+    public ResponseEntity<LiveStatsDTO> getLiveStats(
+            @RequestParam(defaultValue = "15") int windowMinutes,
+            @RequestParam(defaultValue = "5") int top) {
+        return ResponseEntity.ok(liveStats.snapshot(windowMinutes, top));
+    }
+}
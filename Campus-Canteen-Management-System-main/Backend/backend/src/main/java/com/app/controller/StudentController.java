@@ -24,7 +24,9 @@ import com.app.dto.RegisterStudentDTO;
 import com.app.dto.SignInDTO;
 import com.app.dto.StudentDTO;
 import com.app.dto.UpdatePasswordDTO;
+import com.app.dto.WalletBalanceDTO;
 import com.app.service.StudentService;
+import com.app.service.WalletLedgerService;
 
 import jakarta.validation.Valid;
 
@@ -34,10 +36,12 @@ import jakarta.validation.Valid;
 public class StudentController {
 
     private final StudentService studentService;
+    private final WalletLedgerService walletLedgerService;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, WalletLedgerService walletLedgerService) {
         this.studentService = studentService;
+        this.walletLedgerService = walletLedgerService;
     }
 
     @GetMapping("/profile")
@@ -59,6 +63,11 @@ public class StudentController {
         return ResponseEntity.ok().body(balance);
     }
 
+    @GetMapping("/{studentId}/balance/ledger")
+    public ResponseEntity<WalletBalanceDTO> getLedgerBalanceById(@PathVariable Long studentId) {
+        return ResponseEntity.ok(walletLedgerService.getLedgerBalance(studentId));
+    }
+
     @PutMapping("/{studentId}/balance")
     public ResponseEntity<?> setBalanceById(@PathVariable Long studentId,
             @RequestBody Map<String, Integer> requestBody) {
@@ -0,0 +1,39 @@
+package com.app.dto;
+
+import java.util.List;
+
+import com.app.entities.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateDTO {
+
+	public enum Outcome {
+		UPDATED, // moved to the requested status
+		UNCHANGED, // was already in the requested status
+		NOT_FOUND
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Result {
+		private Long orderId;
+		private Outcome outcome;
+	}
+
+	private OrderStatus status;
+
+	private int updated;
+
+	// One entry per requested id, in request order
+	private List<Result> results;
+}
@@ -0,0 +1,23 @@
+package com.app.dto;
+
+import java.util.List;
+
+import com.app.entities.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkStatusUpdateRequest {
+
+	@NotEmpty
+	@Size(max = 500)
+	private List<Long> orderIds;
+
+	@NotNull
+	private OrderStatus status;
+}
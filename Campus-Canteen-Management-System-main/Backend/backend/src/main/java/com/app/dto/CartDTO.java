@@ -1,21 +1,26 @@
 package com.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @Getter
 @Setter
 @ToString
+@NoArgsConstructor
 public class CartDTO {
 
 	@JsonProperty(access = Access.READ_ONLY)
 	private Long cartId;
 
-	// private Long orderId;
+	// Only used to attach projected cart lines to their order
+	@JsonIgnore
+	private Long orderId;
 
 	private Long itemId;
 
@@ -26,4 +31,16 @@ public class CartDTO {
 	private Integer qtyOrdered;
 
 	private Integer netPrice; // Total price (price * qtyOrdered)
+
+	// JPQL constructor projection (CartRepository)
+	public CartDTO(Long orderId, Long cartId, Long itemId, String itemName, Integer price,
+			Integer qtyOrdered, Integer netPrice) {
+		this.orderId = orderId;
+		this.cartId = cartId;
+		this.itemId = itemId;
+		this.itemName = itemName;
+		this.price = price;
+		this.qtyOrdered = qtyOrdered;
+		this.netPrice = netPrice;
+	}
 }
@@ -0,0 +1,21 @@
+package com.app.dto;
+
+import com.app.entities.ItemCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDTO {
+
+	private ItemCategory category;
+
+	private long qty;
+
+	private long revenue;
+}
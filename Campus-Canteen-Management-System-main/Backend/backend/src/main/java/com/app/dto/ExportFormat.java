@@ -0,0 +1,34 @@
+package com.app.dto;
+
+import java.util.Locale;
+
+// Row formats of the /admin/exports downloads
+public enum ExportFormat {
+	CSV("text/csv", "csv"),
+	NDJSON("application/x-ndjson", "ndjson");
+
+	private final String contentType;
+	private final String extension;
+
+	ExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	// Case-insensitive (?format=csv); unknown values are a bad request
+	public static ExportFormat parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+		}
+	}
+}
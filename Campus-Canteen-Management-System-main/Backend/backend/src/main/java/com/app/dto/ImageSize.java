@@ -0,0 +1,30 @@
+package com.app.dto;
+
+import java.util.Locale;
+
+// Renditions of an item picture, picked with ?size= on GET /items/{id}/image
+public enum ImageSize {
+	THUMB(160), // menu thumbnails
+	CARD(480), // menu cards
+	FULL(0); // the uploaded picture as is
+
+	// Longest side in pixels; 0 = unscaled
+	private final int maxSide;
+
+	ImageSize(int maxSide) {
+		this.maxSide = maxSide;
+	}
+
+	public int getMaxSide() {
+		return maxSide;
+	}
+
+	// Case-insensitive (?size=thumb); unknown values are a bad request
+	public static ImageSize parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unsupported image size: " + value + " (use thumb, card or full)");
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.app.dto;
 
+import com.app.entities.ItemCategory;
+
 public class ItemDailyDTO {
 
     private Long dailyId; // New Surrogate PK
@@ -13,6 +15,24 @@ public class ItemDailyDTO {
     private String itemImage;
     private String itemCategory;
 
+    // ===== CONSTRUCTORS =====
+    public ItemDailyDTO() {
+    }
+
+    // JPQL constructor projection (ItemDailyRepository)
+    public ItemDailyDTO(Long dailyId, Long itemId, Integer initialQty, Integer soldQty,
+            String itemName, Integer itemPrice, String imageHash, ItemCategory itemCategory) {
+        this.dailyId = dailyId;
+        this.itemId = itemId;
+        this.itemMasterId = itemId;
+        this.initialQty = initialQty;
+        this.soldQty = soldQty;
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+        this.itemImage = ItemMasterDTO.imagePath(itemId, imageHash);
+        this.itemCategory = itemCategory == null ? null : itemCategory.toString();
+    }
+
     // ===== GETTERS =====
     public Long getDailyId() {
         return dailyId;
@@ -0,0 +1,20 @@
+package com.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// What the image endpoint needs to answer a conditional request, without the bytes
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImageDTO {
+
+	private Long itemId;
+
+	private String contentType;
+
+	private String sha256;
+}
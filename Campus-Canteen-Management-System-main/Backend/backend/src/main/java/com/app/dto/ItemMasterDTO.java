@@ -27,9 +27,16 @@ public class ItemMasterDTO {
 
 	private ItemGenre itemGenre;
 
+	// Read: URL of the picture (GET /items/{id}/image?v=<sha256>), relative to the API.
+	// Write: a base64 data URL replaces the picture, "" removes it, anything else keeps it.
 	private String itemImage;
 
 	private Integer totalQty;
 
 	private Integer soldQty;
+
+	// The hash makes the URL change with the picture, so it can be cached for good
+	public static String imagePath(Long itemId, String imageHash) {
+		return imageHash == null ? null : "/items/" + itemId + "/image?v=" + imageHash;
+	}
 }
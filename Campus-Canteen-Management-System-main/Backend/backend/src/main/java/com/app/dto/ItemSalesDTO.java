@@ -0,0 +1,22 @@
+package com.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSalesDTO {
+
+	private Long itemId;
+
+	// null when the item has been removed from item_master
+	private String itemName;
+
+	private long qty;
+
+	private long revenue;
+}
@@ -0,0 +1,38 @@
+package com.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveStatsDTO {
+
+	private LocalDateTime asOf;
+
+	// Length of the recent window the *InWindow figures cover
+	private int windowMinutes;
+
+	private long ordersInWindow;
+
+	private long revenueInWindow;
+
+	private long servedInWindow;
+
+	private long ordersToday;
+
+	private long revenueToday;
+
+	// Best sellers by quantity in the window (at most its last 60 minutes)
+	private List<ItemSalesDTO> topItems;
+
+	private List<ItemSalesDTO> topItemsToday;
+
+	private List<CategorySalesDTO> categoriesToday;
+}
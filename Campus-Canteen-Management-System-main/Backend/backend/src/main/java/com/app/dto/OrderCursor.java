@@ -0,0 +1,29 @@
+package com.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last order of a page: its (time, orderId) key.
+ *
+ * Sent to clients as an opaque URL-safe token, so the key layout can change
+ * without breaking them.
+ */
+public record OrderCursor(LocalDateTime time, Long orderId) {
+
+	public String encode() {
+		String raw = time + "|" + orderId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static OrderCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int sep = raw.indexOf('|');
+			return new OrderCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid page cursor: " + token);
+		}
+	}
+}
@@ -8,12 +8,14 @@ import com.fasterxml.jackson.annotation.JsonProperty.Access;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @Getter
 @Setter
 @ToString
+@NoArgsConstructor
 public class OrderDTO {
 
 	@JsonProperty(access = Access.READ_ONLY)
@@ -44,4 +46,22 @@ public class OrderDTO {
 
 	private String studentName;
 	private List<CartDTO> cartList; // Cart items for this order
+
+	// JPQL constructor projection (OrderRepository); cart lines are attached afterwards
+	public OrderDTO(Long orderId, LocalDateTime time, int qty, String paymentMethod, Integer amount,
+			String transactionId, Integer itemsServed, Boolean isServed, OrderStatus orderStatus,
+			Integer discountPercentage, Long studentId, String studentName) {
+		this.orderId = orderId;
+		this.time = time;
+		this.qty = qty;
+		this.paymentMethod = paymentMethod;
+		this.amount = amount;
+		this.transactionId = transactionId;
+		this.itemsServed = itemsServed;
+		this.isServed = isServed;
+		this.orderStatus = orderStatus;
+		this.discountPercentage = discountPercentage;
+		this.studentId = studentId;
+		this.studentName = studentName;
+	}
 }
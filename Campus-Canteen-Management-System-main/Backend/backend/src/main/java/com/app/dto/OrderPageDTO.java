@@ -0,0 +1,20 @@
+package com.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+
+	private List<OrderDTO> orders;
+
+	// Pass back as ?after= to get the next page; null on the last page
+	private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueuePositionDTO {
+
+	private Long orderId;
+
+	// 1 = next to be prepared
+	private int position;
+
+	private int ordersAhead;
+
+	private int pendingOrders;
+}
@@ -0,0 +1,32 @@
+package com.app.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+// Bucket size of the revenue series served by /admin/sales/revenue
+public enum SalesPeriod {
+	DAY, WEEK, MONTH;
+
+	// First day of the bucket the date falls into (weeks start on Monday)
+	public LocalDate start(LocalDate date) {
+		switch (this) {
+		case WEEK:
+			return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		case MONTH:
+			return date.withDayOfMonth(1);
+		default:
+			return date;
+		}
+	}
+
+	// Case-insensitive (?groupBy=week); unknown values are a bad request
+	public static SalesPeriod parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unsupported period: " + value + " (use day, week or month)");
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.app.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesPointDTO {
+
+	// First day of the day / week (Monday) / month
+	private LocalDate periodStart;
+
+	private long qty;
+
+	private long revenue;
+}
@@ -0,0 +1,25 @@
+package com.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletBalanceDTO {
+
+	private Long studentId;
+
+	// Balance rebuilt from the wallet ledger (snapshot + entries after it)
+	private long ledgerBalance;
+
+	// Balance cached on the student row (what orders are checked against)
+	private int cachedBalance;
+
+	private long snapshotBalance;
+
+	private Long snapshotEntryId;
+}
@@ -0,0 +1,40 @@
+package com.app.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cart line of an ArchivedOrder. order_time repeats the order's time so
+ * carts_archive can be partitioned by month like orders_archive.
+ */
+@Entity
+@Immutable
+@Table(name = "carts_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedCart {
+
+    @Id
+    @Column(name = "cart_id")
+    private Long cartId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "qty_ordered", nullable = false)
+    private Integer qtyOrdered;
+
+    @Column(name = "net_price", nullable = false)
+    private Integer netPrice;
+
+    @Column(name = "order_time", nullable = false)
+    private LocalDateTime orderTime;
+}
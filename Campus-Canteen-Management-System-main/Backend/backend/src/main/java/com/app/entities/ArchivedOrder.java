@@ -0,0 +1,56 @@
+package com.app.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A SERVED order moved out of orders by the OrderArchiver. Read-only: rows are
+ * written by the archiver's INSERT ... SELECT and only read for a student's
+ * older history. student_id is a plain column, the partitioned table has no FKs.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(nullable = false)
+    private LocalDateTime time;
+
+    @Column(name = "quantity")
+    private int qty;
+
+    @Column(name = "payment_method", nullable = false)
+    private String paymentMethod;
+
+    private Integer amount;
+
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+
+    @Column(name = "items_served", nullable = false)
+    private Integer itemsServed;
+
+    @Column(name = "is_served", nullable = false)
+    private Boolean isServed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    @Column(name = "discount_percentage")
+    private Integer discountPercentage;
+
+    @Column(name = "student_id")
+    private Long studentId;
+}
@@ -10,7 +10,8 @@ import java.time.LocalDate;
 public class ItemDaily {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_daily_seq")
+    @SequenceGenerator(name = "item_daily_seq", sequenceName = "item_daily_seq", allocationSize = 50)
     @Column(name = "daily_id")
     private Long dailyId;
 
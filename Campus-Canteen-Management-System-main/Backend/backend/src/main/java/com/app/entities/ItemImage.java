@@ -0,0 +1,39 @@
+package com.app.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The picture of one ItemMaster, as raw bytes. Kept apart from item_master so
+ * loading an item (menus, order placement) never reads the image. Only the
+ * image endpoint reads content.
+ */
+@Entity
+@Table(name = "item_images")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ItemImage {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+
+    // Hex SHA-256 of content; the image's ETag and URL version
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -32,8 +32,9 @@ public class ItemMaster {
 	@Column(name = "item_genre", nullable = false)
 	private ItemGenre itemGenre;
 
-	@Column(name = "item_image", columnDefinition = "LONGTEXT")
-	private String itemImage;
+	// SHA-256 of the picture in item_images, null when the item has none
+	@Column(name = "image_hash", length = 64)
+	private String imageHash;
 
 	@Column(name = "total_qty", nullable = false, columnDefinition = "INT DEFAULT 0")
 	private Integer totalQty;
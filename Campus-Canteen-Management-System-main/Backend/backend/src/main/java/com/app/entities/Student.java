@@ -4,10 +4,15 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.*;
 import lombok.*;
 
+// Only changed columns are written, so editing a student loaded earlier never
+// writes back a stale balance over a concurrent debitBalance / creditBalance
 @Entity
+@DynamicUpdate
 @Table(name = "students")
 @Getter
 @Setter
@@ -17,7 +22,8 @@ import lombok.*;
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long studentId;
 
     @Column(nullable = false, length = 50)
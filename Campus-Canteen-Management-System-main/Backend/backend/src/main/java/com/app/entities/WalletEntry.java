@@ -0,0 +1,53 @@
+package com.app.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One immutable wallet movement. Rows are only ever inserted: credits are
+ * positive, debits negative, and a student's balance is the sum of the rows.
+ * student_id is a plain column (no FK) so the audit trail outlives the student.
+ */
+@Entity
+@Table(name = "wallet_entries", indexes = {
+        @Index(name = "idx_wallet_entries_student", columnList = "student_id, entry_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "student_id", nullable = false, updatable = false)
+    private Long studentId;
+
+    @Column(nullable = false, updatable = false)
+    private int amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 20)
+    private WalletEntryType entryType;
+
+    // Recharge transaction id or order id, depending on entryType
+    @Column(name = "reference_id", updatable = false)
+    private Long referenceId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public WalletEntry(Long studentId, int amount, WalletEntryType entryType, Long referenceId) {
+        this.studentId = studentId;
+        this.amount = amount;
+        this.entryType = entryType;
+        this.referenceId = referenceId;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,5 @@
+package com.app.entities;
+
+public enum WalletEntryType {
+	OPENING, RECHARGE, ORDER, ADJUSTMENT;
+}
@@ -0,0 +1,39 @@
+package com.app.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compacted wallet balance of one student: the sum of every wallet entry up
+ * to and including lastEntryId (the watermark).
+ */
+@Entity
+@Table(name = "wallet_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WalletSnapshot {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(nullable = false)
+    private int balance;
+
+    @Column(name = "last_entry_id", nullable = false)
+    private Long lastEntryId;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    public WalletSnapshot(Long studentId) {
+        this.studentId = studentId;
+        this.balance = 0;
+        this.lastEntryId = 0L;
+    }
+}
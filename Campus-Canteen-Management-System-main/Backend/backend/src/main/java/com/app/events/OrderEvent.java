@@ -0,0 +1,12 @@
+package com.app.events;
+
+import com.app.dto.OrderDTO;
+import com.app.entities.OrderStatus;
+
+/**
+ * Published inside the transaction that changed the order; listeners that
+ * push it to clients run only once that transaction has committed.
+ * previousStatus is null for ORDER_PLACED.
+ */
+public record OrderEvent(OrderEventType type, OrderDTO order, OrderStatus previousStatus) {
+}
@@ -0,0 +1,5 @@
+package com.app.events;
+
+public enum OrderEventType {
+	ORDER_PLACED, ORDER_STATUS_CHANGED, ORDERS_STATUS_CHANGED
+}
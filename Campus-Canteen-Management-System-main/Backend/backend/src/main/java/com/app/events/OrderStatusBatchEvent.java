@@ -0,0 +1,12 @@
+package com.app.events;
+
+import java.util.Map;
+
+import com.app.entities.OrderStatus;
+
+/**
+ * Several orders moved to the same status by one bulk update, keyed by
+ * order id with the status each one had before.
+ */
+public record OrderStatusBatchEvent(OrderStatus status, Map<Long, OrderStatus> previousStatusById) {
+}
@@ -50,6 +50,14 @@ public class GlobalExceptionHandler {
 		return new ApiResponse(e.getMessage());
 	}
 
+	// bad request parameters (e.g. an invalid page cursor or limit)
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+	public ApiResponse handleIllegalArgumentException(IllegalArgumentException e) {
+		System.out.println("in illegal arg " + e);
+		return new ApiResponse(e.getMessage());
+	}
+
 	// method level anno to tell SC , following is an exc handling method : to
 	// handle any other remaining exc => catch all
 	@ExceptionHandler(RuntimeException.class)
@@ -0,0 +1,62 @@
+package com.app.mapper;
+
+import com.app.dto.CartDTO;
+import com.app.dto.CreateOrderDTO;
+import com.app.dto.GetAllStudentDTO;
+import com.app.dto.ItemDailyDTO;
+import com.app.dto.ItemMasterDTO;
+import com.app.dto.OrderDTO;
+import com.app.dto.RechargeHistoryDTO;
+import com.app.dto.StudentDTO;
+import com.app.entities.Cart;
+import com.app.entities.ItemDaily;
+import com.app.entities.ItemMaster;
+import com.app.entities.Order;
+import com.app.entities.RechargeHistory;
+import com.app.entities.Student;
+
+/**
+ * Entity <-> DTO conversions used by the services.
+ *
+ * Every field is copied explicitly, including the ones taken from related
+ * entities (student name, item name/price ...), so callers get a complete
+ * DTO without patching it afterwards. Entity -> DTO methods never touch a
+ * lazy association the DTO does not expose.
+ */
+public interface DtoMapper {
+
+	// ================= ORDERS =================
+
+	OrderDTO toOrderDTO(Order order);
+
+	CreateOrderDTO toCreateOrderDTO(Order order);
+
+	CartDTO toCartDTO(Cart cart);
+
+	// Scalar fields only: the student and cart lines are linked by the caller
+	Order toOrder(OrderDTO dto);
+
+	// ================= ITEMS =================
+
+	ItemMasterDTO toItemMasterDTO(ItemMaster item);
+
+	ItemMaster toItemMaster(ItemMasterDTO dto);
+
+	ItemDailyDTO toItemDailyDTO(ItemDaily daily);
+
+	// ================= STUDENTS =================
+
+	StudentDTO toStudentDTO(Student student);
+
+	GetAllStudentDTO toGetAllStudentDTO(Student student);
+
+	// ================= RECHARGES =================
+
+	RechargeHistoryDTO toRechargeHistoryDTO(RechargeHistory recharge);
+
+	// The student is linked by the caller
+	RechargeHistory toRechargeHistory(RechargeHistoryDTO dto);
+
+	// Copies only the non-null fields of the dto (partial update)
+	void updateRechargeHistory(RechargeHistoryDTO dto, RechargeHistory recharge);
+}
@@ -0,0 +1,232 @@
+package com.app.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.app.dto.CartDTO;
+import com.app.dto.CreateOrderDTO;
+import com.app.dto.GetAllStudentDTO;
+import com.app.dto.ItemDailyDTO;
+import com.app.dto.ItemMasterDTO;
+import com.app.dto.OrderDTO;
+import com.app.dto.RechargeHistoryDTO;
+import com.app.dto.StudentDTO;
+import com.app.entities.Cart;
+import com.app.entities.ItemDaily;
+import com.app.entities.ItemMaster;
+import com.app.entities.Order;
+import com.app.entities.RechargeHistory;
+import com.app.entities.Student;
+
+/**
+ * Plain getter/setter mapping, replacing the reflective STRICT ModelMapper
+ * that used to be matched per row on the order and menu listings.
+ */
+@Component
+public class DtoMapperImpl implements DtoMapper {
+
+	// ================= ORDERS =================
+
+	@Override
+	public OrderDTO toOrderDTO(Order order) {
+		OrderDTO dto = new OrderDTO();
+		dto.setOrderId(order.getOrderId());
+		dto.setTime(order.getTime());
+		dto.setQty(order.getQty());
+		dto.setPaymentMethod(order.getPaymentMethod());
+		dto.setAmount(order.getAmount());
+		dto.setTransactionId(order.getTransactionId());
+		dto.setItemsServed(order.getItemsServed());
+		dto.setIsServed(order.getIsServed());
+		dto.setOrderStatus(order.getOrderStatus());
+		dto.setDiscountPercentage(order.getDiscountPercentage());
+		if (order.getStudent() != null) {
+			dto.setStudentId(order.getStudent().getStudentId());
+			dto.setStudentName(order.getStudent().getName());
+		}
+		if (order.getCartList() != null && !order.getCartList().isEmpty()) {
+			dto.setCartList(toCartDTOs(order.getCartList()));
+		}
+		return dto;
+	}
+
+	@Override
+	public CreateOrderDTO toCreateOrderDTO(Order order) {
+		CreateOrderDTO dto = new CreateOrderDTO();
+		dto.setOrderId(order.getOrderId());
+		dto.setQty(order.getQty());
+		dto.setAmount(order.getAmount());
+		dto.setItemsServed(order.getItemsServed());
+		dto.setOrderStatus(order.getOrderStatus());
+		if (order.getStudent() != null) {
+			dto.setStudentName(order.getStudent().getName());
+		}
+		if (order.getCartList() != null) {
+			dto.setCarts(toCartDTOs(order.getCartList()));
+		}
+		return dto;
+	}
+
+	@Override
+	public CartDTO toCartDTO(Cart cart) {
+		CartDTO dto = new CartDTO();
+		dto.setCartId(cart.getCartId());
+		dto.setQtyOrdered(cart.getQtyOrdered());
+		dto.setNetPrice(cart.getNetPrice());
+		if (cart.getItem() != null) {
+			dto.setItemId(cart.getItem().getId());
+			dto.setItemName(cart.getItem().getItemName());
+			// Individual item price for the frontend
+			dto.setPrice(cart.getItem().getItemPrice());
+		}
+		return dto;
+	}
+
+	@Override
+	public Order toOrder(OrderDTO dto) {
+		Order order = new Order();
+		order.setTime(dto.getTime());
+		if (dto.getQty() != null) {
+			order.setQty(dto.getQty());
+		}
+		order.setPaymentMethod(dto.getPaymentMethod());
+		order.setAmount(dto.getAmount());
+		order.setTransactionId(dto.getTransactionId());
+		if (dto.getItemsServed() != null) {
+			order.setItemsServed(dto.getItemsServed());
+		}
+		if (dto.getIsServed() != null) {
+			order.setIsServed(dto.getIsServed());
+		}
+		if (dto.getOrderStatus() != null) {
+			order.setOrderStatus(dto.getOrderStatus());
+		}
+		order.setDiscountPercentage(dto.getDiscountPercentage());
+		return order;
+	}
+
+	private List<CartDTO> toCartDTOs(List<Cart> carts) {
+		List<CartDTO> dtos = new ArrayList<>(carts.size());
+		for (Cart cart : carts) {
+			dtos.add(toCartDTO(cart));
+		}
+		return dtos;
+	}
+
+	// ================= ITEMS =================
+
+	@Override
+	public ItemMasterDTO toItemMasterDTO(ItemMaster item) {
+		ItemMasterDTO dto = new ItemMasterDTO();
+		dto.setId(item.getId());
+		dto.setItemName(item.getItemName());
+		dto.setItemPrice(item.getItemPrice());
+		dto.setItemCategory(item.getItemCategory());
+		dto.setItemGenre(item.getItemGenre());
+		dto.setItemImage(ItemMasterDTO.imagePath(item.getId(), item.getImageHash()));
+		dto.setTotalQty(item.getTotalQty());
+		dto.setSoldQty(item.getSoldQty());
+		return dto;
+	}
+
+	@Override
+	public ItemMaster toItemMaster(ItemMasterDTO dto) {
+		ItemMaster item = new ItemMaster();
+		item.setItemName(dto.getItemName());
+		item.setItemPrice(dto.getItemPrice());
+		item.setItemCategory(dto.getItemCategory());
+		item.setItemGenre(dto.getItemGenre());
+		item.setTotalQty(dto.getTotalQty());
+		item.setSoldQty(dto.getSoldQty());
+		return item;
+	}
+
+	@Override
+	public ItemDailyDTO toItemDailyDTO(ItemDaily daily) {
+		ItemDailyDTO dto = new ItemDailyDTO();
+		dto.setDailyId(daily.getDailyId());
+		dto.setInitialQty(daily.getInitialQty());
+		dto.setSoldQty(daily.getSoldQty());
+		ItemMaster item = daily.getItem();
+		if (item != null) {
+			dto.setItemId(item.getId());
+			dto.setItemMasterId(item.getId());
+			dto.setItemName(item.getItemName());
+			dto.setItemPrice(item.getItemPrice());
+			dto.setItemImage(ItemMasterDTO.imagePath(item.getId(), item.getImageHash()));
+			if (item.getItemCategory() != null) {
+				dto.setItemCategory(item.getItemCategory().toString());
+			}
+		}
+		return dto;
+	}
+
+	// ================= STUDENTS =================
+
+	@Override
+	public StudentDTO toStudentDTO(Student student) {
+		StudentDTO dto = new StudentDTO();
+		dto.setStudentId(student.getStudentId());
+		dto.setName(student.getName());
+		dto.setEmail(student.getEmail());
+		dto.setPassword(student.getPassword());
+		dto.setMobileNo(student.getMobileNo());
+		dto.setBalance(student.getBalance());
+		dto.setDob(student.getDob());
+		if (student.getCourseName() != null) {
+			dto.setCourseName(student.getCourseName().name());
+		}
+		return dto;
+	}
+
+	@Override
+	public GetAllStudentDTO toGetAllStudentDTO(Student student) {
+		return new GetAllStudentDTO(
+				student.getStudentId(),
+				student.getName(),
+				student.getEmail(),
+				student.getMobileNo(),
+				student.getBalance(),
+				student.getDob(),
+				student.getCourseName());
+	}
+
+	// ================= RECHARGES =================
+
+	@Override
+	public RechargeHistoryDTO toRechargeHistoryDTO(RechargeHistory recharge) {
+		RechargeHistoryDTO dto = new RechargeHistoryDTO();
+		dto.setTransactionId(recharge.getTransactionId());
+		dto.setPaymentId(recharge.getPaymentId());
+		dto.setTimeStamp(recharge.getTimestamp());
+		dto.setAmountAdded(recharge.getAmountAdded());
+		if (recharge.getStudent() != null) {
+			dto.setStudentId(recharge.getStudent().getStudentId());
+		}
+		return dto;
+	}
+
+	@Override
+	public RechargeHistory toRechargeHistory(RechargeHistoryDTO dto) {
+		RechargeHistory recharge = new RechargeHistory();
+		recharge.setPaymentId(dto.getPaymentId());
+		recharge.setTimestamp(dto.getTimeStamp());
+		recharge.setAmountAdded(dto.getAmountAdded());
+		return recharge;
+	}
+
+	@Override
+	public void updateRechargeHistory(RechargeHistoryDTO dto, RechargeHistory recharge) {
+		if (dto.getPaymentId() != null) {
+			recharge.setPaymentId(dto.getPaymentId());
+		}
+		if (dto.getTimeStamp() != null) {
+			recharge.setTimestamp(dto.getTimeStamp());
+		}
+		if (dto.getAmountAdded() != null) {
+			recharge.setAmountAdded(dto.getAmountAdded());
+		}
+	}
+}
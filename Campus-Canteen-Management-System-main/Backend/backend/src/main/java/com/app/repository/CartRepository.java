@@ -0,0 +1,35 @@
+package com.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.dto.CartDTO;
+import com.app.entities.Cart;
+import com.app.entities.OrderStatus;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    // Cart lines selected straight into DTOs, to be attached to the OrderDTOs
+    // of the matching OrderRepository projection (grouped by orderId)
+
+    @Query("select new com.app.dto.CartDTO(o.orderId, c.cartId, i.id, i.itemName, i.itemPrice,"
+            + " c.qtyOrdered, c.netPrice) from Cart c join c.order o left join c.item i"
+            + " where o.orderStatus = :status")
+    List<CartDTO> findDTOsByOrderStatus(@Param("status") OrderStatus status);
+
+    @Query("select new com.app.dto.CartDTO(o.orderId, c.cartId, i.id, i.itemName, i.itemPrice,"
+            + " c.qtyOrdered, c.netPrice) from Cart c join c.order o left join c.item i"
+            + " where o.student.studentId = :studentId")
+    List<CartDTO> findDTOsByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select new com.app.dto.CartDTO(o.orderId, c.cartId, i.id, i.itemName, i.itemPrice,"
+            + " c.qtyOrdered, c.netPrice) from Cart c join c.order o left join c.item i"
+            + " where o.orderId in :orderIds")
+    List<CartDTO> findDTOsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
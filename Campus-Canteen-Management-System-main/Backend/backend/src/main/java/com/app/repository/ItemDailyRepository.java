@@ -1,15 +1,47 @@
 package com.app.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.ItemDailyDTO;
 import com.app.entities.ItemDaily;
 import com.app.entities.ItemMaster;
 
 @Repository
 public interface ItemDailyRepository extends JpaRepository<ItemDaily, Long> {
     Optional<ItemDaily> findByItemAndDate(ItemMaster item, LocalDate date);
+
+    List<ItemDaily> findByDate(LocalDate date);
+
+    // Menu listing selected straight into DTOs (no managed entities)
+    @Query("select new com.app.dto.ItemDailyDTO(d.dailyId, i.id, d.initialQty, d.soldQty,"
+            + " i.itemName, i.itemPrice, i.imageHash, i.itemCategory)"
+            + " from ItemDaily d join d.item i")
+    List<ItemDailyDTO> findAllDTOs();
+
+    // Menu entries of the given items for one date, with their ItemMaster
+    // fetched in the same query (used to validate a whole cart at once)
+    @Query("select d from ItemDaily d join fetch d.item where d.date = :date and d.item.id in :itemIds")
+    List<ItemDaily> findByDateAndItemIdIn(@Param("date") LocalDate date, @Param("itemIds") Collection<Long> itemIds);
+
+    // Conditional decrement of daily stock in a single statement.
+    // Returns 1 when the stock was reserved, 0 when the item is not on the
+    // menu for that date or fewer than qty portions are left.
+    @Modifying
+    @Query("update ItemDaily d set d.soldQty = d.soldQty + :qty "
+            + "where d.item.id = :itemId and d.date = :date and d.initialQty - d.soldQty >= :qty")
+    int reserveStock(@Param("itemId") Long itemId, @Param("date") LocalDate date, @Param("qty") int qty);
+
+    // Gives back stock taken by reserveStock (used when an order is refused after reserving)
+    @Modifying
+    @Query("update ItemDaily d set d.soldQty = d.soldQty - :qty where d.item.id = :itemId and d.date = :date")
+    int releaseStock(@Param("itemId") Long itemId, @Param("date") LocalDate date, @Param("qty") int qty);
 }
@@ -0,0 +1,40 @@
+package com.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.app.dto.ItemImageDTO;
+import com.app.entities.ItemImage;
+
+@Repository
+public interface ItemImageRepository extends JpaRepository<ItemImage, Long> {
+
+    @Query("select new com.app.dto.ItemImageDTO(i.itemId, i.contentType, i.sha256) from ItemImage i"
+            + " where i.itemId = :itemId")
+    Optional<ItemImageDTO> findInfoByItemId(@Param("itemId") Long itemId);
+
+    @Query("select new com.app.dto.ItemImageDTO(i.itemId, i.contentType, i.sha256) from ItemImage i")
+    List<ItemImageDTO> findAllInfo();
+
+    @Query("select i.content from ItemImage i where i.itemId = :itemId")
+    Optional<byte[]> findContentByItemId(@Param("itemId") Long itemId);
+
+    // Replace/remove without loading the current picture (findById + save/delete would)
+    @Modifying
+    @Query("update ItemImage i set i.contentType = :contentType, i.content = :content, i.sha256 = :sha256,"
+            + " i.updatedAt = :updatedAt where i.itemId = :itemId")
+    int replaceContent(@Param("itemId") Long itemId, @Param("contentType") String contentType,
+            @Param("content") byte[] content, @Param("sha256") String sha256,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("delete from ItemImage i where i.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") Long itemId);
+}
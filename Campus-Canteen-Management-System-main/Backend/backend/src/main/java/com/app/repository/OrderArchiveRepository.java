@@ -0,0 +1,54 @@
+package com.app.repository;
+
+import com.app.dto.CartDTO;
+import com.app.dto.OrderDTO;
+import com.app.entities.ArchivedOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads of orders_archive / carts_archive, in the same DTO shapes as
+ * OrderRepository and CartRepository so archived orders can be merged into a
+ * student's history. The rows are written by OrderArchiver only.
+ */
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    String ARCHIVED_ORDER_DTO = "select new com.app.dto.OrderDTO(o.orderId, o.time, o.qty, o.paymentMethod,"
+            + " o.amount, o.transactionId, o.itemsServed, o.isServed, o.orderStatus,"
+            + " o.discountPercentage, s.studentId, s.name) from ArchivedOrder o"
+            + " left join Student s on s.studentId = o.studentId";
+
+    String ARCHIVED_CART_DTO = "select new com.app.dto.CartDTO(c.orderId, c.cartId, i.id, i.itemName, i.itemPrice,"
+            + " c.qtyOrdered, c.netPrice) from ArchivedCart c left join ItemMaster i on i.id = c.itemId";
+
+    @Query(ARCHIVED_ORDER_DTO + " where o.studentId = :studentId")
+    List<OrderDTO> findDTOsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(ARCHIVED_ORDER_DTO + " where o.orderId in :orderIds")
+    List<OrderDTO> findDTOsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(ARCHIVED_CART_DTO + " where c.orderId in"
+            + " (select a.orderId from ArchivedOrder a where a.studentId = :studentId)")
+    List<CartDTO> findCartDTOsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(ARCHIVED_CART_DTO + " where c.orderId in :orderIds")
+    List<CartDTO> findCartDTOsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // Same keyset walk as OrderRepository.findIdPageByStudentDesc
+    @Query("select o.orderId from ArchivedOrder o where o.studentId = :studentId"
+            + " and (:afterTime is null or o.time < :afterTime"
+            + " or (o.time = :afterTime and o.orderId < :afterId))"
+            + " order by o.time desc, o.orderId desc")
+    List<Long> findIdPageByStudentDesc(@Param("studentId") Long studentId,
+            @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId, Pageable page);
+
+    // Newest archived order time; null while the archive is empty
+    @Query("select max(o.time) from ArchivedOrder o")
+    LocalDateTime findNewestTime();
+}
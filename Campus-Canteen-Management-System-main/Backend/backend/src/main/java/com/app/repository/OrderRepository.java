@@ -1,15 +1,91 @@
 package com.app.repository;
 
+import com.app.dto.OrderDTO;
 import com.app.entities.Order;
 import com.app.entities.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByOrderStatus(OrderStatus orderStatus);
-   
-    List<Order> findByStudentStudentId(Long studentId);
-    
+    // Listings select straight into OrderDTO (no managed entities, nothing to
+    // dirty-check); the cart lines come from the matching CartRepository query.
+    String ORDER_DTO = "select new com.app.dto.OrderDTO(o.orderId, o.time, o.qty, o.paymentMethod,"
+            + " o.amount, o.transactionId, o.itemsServed, o.isServed, o.orderStatus,"
+            + " o.discountPercentage, s.studentId, s.name) from Order o left join o.student s";
+
+    @Query(ORDER_DTO + " where o.orderStatus = :status")
+    List<OrderDTO> findDTOsByOrderStatus(@Param("status") OrderStatus status);
+
+    @Query(ORDER_DTO + " where s.studentId = :studentId")
+    List<OrderDTO> findDTOsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(ORDER_DTO + " where o.orderId in :orderIds")
+    List<OrderDTO> findDTOsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // Single order with its student and cart lines; the cart items (ItemMaster) are
+    // batch-loaded (hibernate.default_batch_fetch_size) instead of one SELECT per line
+    @EntityGraph(attributePaths = { "student", "cartList" })
+    Optional<Order> findWithDetailsByOrderId(Long orderId);
+
     Long countByOrderStatus(OrderStatus orderStatus);
+
+    // ================= BULK STATUS =================
+
+    // [order_id, order_status] of the given orders, row-locked (in id order) until the
+    // transaction ends, so the outcome of the bulk UPDATE below is known exactly
+    @Query(value = "select order_id, order_status from orders where order_id in (:orderIds) "
+            + "order by order_id for update", nativeQuery = true)
+    List<Object[]> lockStatuses(@Param("orderIds") Collection<Long> orderIds);
+
+    // One set-based UPDATE for a whole batch; orders already in the status are skipped
+    @Modifying
+    @Query("update Order o set o.orderStatus = :status, "
+            + "o.isServed = case when :status = com.app.entities.OrderStatus.SERVED then true else o.isServed end "
+            + "where o.orderId in :orderIds and o.orderStatus <> :status")
+    int updateStatuses(@Param("orderIds") Collection<Long> orderIds, @Param("status") OrderStatus status);
+
+    // [orderStatus, count] for every status (KitchenQueue reconciliation)
+    @Query("select o.orderStatus, count(o) from Order o group by o.orderStatus")
+    List<Object[]> countGroupedByStatus();
+
+    // [orderId, orderStatus] of the given orders (KitchenQueue reload)
+    @Query("select o.orderId, o.orderStatus from Order o where o.orderId in :orderIds")
+    List<Object[]> findStatusesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // ================= KEYSET PAGES =================
+    // Each page selects only order ids, seeking past the last (time, order_id) of the
+    // previous page, so the cost does not grow with the page number. Details are then
+    // loaded with findDTOsByOrderIdIn and the cart lines of those ids.
+    // Pass Pageable.ofSize(limit); a null cursor time starts at the first page. Legacy
+    // rows without a time cannot be keyed and are left out.
+
+    @Query("select o.orderId from Order o where o.orderStatus = :status and o.time is not null"
+            + " and (:afterTime is null or o.time > :afterTime"
+            + " or (o.time = :afterTime and o.orderId > :afterId))"
+            + " order by o.time asc, o.orderId asc")
+    List<Long> findIdPageByStatusAsc(@Param("status") OrderStatus status,
+            @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId, Pageable page);
+
+    @Query("select o.orderId from Order o where o.orderStatus = :status and o.time is not null"
+            + " and (:afterTime is null or o.time < :afterTime"
+            + " or (o.time = :afterTime and o.orderId < :afterId))"
+            + " order by o.time desc, o.orderId desc")
+    List<Long> findIdPageByStatusDesc(@Param("status") OrderStatus status,
+            @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId, Pageable page);
+
+    @Query("select o.orderId from Order o where o.student.studentId = :studentId and o.time is not null"
+            + " and (:afterTime is null or o.time < :afterTime"
+            + " or (o.time = :afterTime and o.orderId < :afterId))"
+            + " order by o.time desc, o.orderId desc")
+    List<Long> findIdPageByStudentDesc(@Param("studentId") Long studentId,
+            @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId, Pageable page);
 }
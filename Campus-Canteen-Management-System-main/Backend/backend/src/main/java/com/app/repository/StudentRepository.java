@@ -2,13 +2,21 @@
 package com.app.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.GetAllStudentDTO;
 import com.app.entities.Student;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 	Student findByEmailAndDob(String email, LocalDate dob);
@@ -26,5 +34,30 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     
     Optional<Student> findByPassword(String password);
-	
+
+    // Admin student list selected straight into DTOs (no managed entities)
+    @Query("select new com.app.dto.GetAllStudentDTO(s.studentId, s.name, s.email, s.mobileNo,"
+            + " s.balance, s.dob, s.courseName) from Student s")
+    List<GetAllStudentDTO> findAllDTOs();
+
+    // ===== WALLET =====
+    // Single-statement balance changes: no read-modify-write on the students row.
+    // Each returns the number of rows updated (0 = unknown student / insufficient balance).
+
+    @Modifying
+    @Query("update Student s set s.balance = s.balance - :amount where s.studentId = :studentId and s.balance >= :amount")
+    int debitBalance(@Param("studentId") Long studentId, @Param("amount") int amount);
+
+    @Modifying
+    @Query("update Student s set s.balance = s.balance + :amount where s.studentId = :studentId")
+    int creditBalance(@Param("studentId") Long studentId, @Param("amount") int amount);
+
+    // Row-locked read for admin balance overrides, so the ledger adjustment is exact
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Student s where s.studentId = :studentId")
+    Optional<Student> findForUpdate(@Param("studentId") Long studentId);
+
+    @Query("select s.balance from Student s where s.studentId = :studentId")
+    Optional<Integer> findBalanceByStudentId(@Param("studentId") Long studentId);
+
 }
@@ -0,0 +1,33 @@
+package com.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.app.entities.WalletEntry;
+
+public interface WalletEntryRepository extends JpaRepository<WalletEntry, Long> {
+
+    // Tail of one student's ledger after a snapshot watermark
+    @Query("select coalesce(sum(e.amount), 0) from WalletEntry e where e.studentId = :studentId and e.entryId > :afterEntryId")
+    long sumAfter(@Param("studentId") Long studentId, @Param("afterEntryId") Long afterEntryId);
+
+    @Query("select max(e.entryId) from WalletEntry e where e.createdAt < :cutoff")
+    Long findMaxEntryIdCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Per-student sums of the entries between each snapshot watermark and :upTo
+    // (students without a snapshot start from 0); rows are [studentId, sum]
+    @Query("select e.studentId, sum(e.amount) from WalletEntry e where e.entryId <= :upTo "
+            + "and e.entryId > coalesce((select s.lastEntryId from WalletSnapshot s where s.studentId = e.studentId), 0) "
+            + "group by e.studentId")
+    List<Object[]> sumTailsUpTo(@Param("upTo") Long upTo);
+
+    // Students holding a balance that the ledger has never seen (pre-ledger data); rows are [studentId, balance]
+    @Query("select s.studentId, s.balance from Student s where s.balance <> 0 "
+            + "and not exists (select e.entryId from WalletEntry e where e.studentId = s.studentId) "
+            + "and not exists (select w.studentId from WalletSnapshot w where w.studentId = s.studentId)")
+    List<Object[]> findUnledgeredBalances();
+}
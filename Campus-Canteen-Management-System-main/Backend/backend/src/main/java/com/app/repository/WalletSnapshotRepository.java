@@ -0,0 +1,9 @@
+package com.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.entities.WalletSnapshot;
+
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+
+}
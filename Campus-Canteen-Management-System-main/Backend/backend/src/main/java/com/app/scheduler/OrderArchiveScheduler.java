@@ -0,0 +1,27 @@
+package com.app.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import com.app.service.OrderArchiver;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class OrderArchiveScheduler {
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    // Move served orders past the retention window to the archive (03:30 every night by default)
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void archiveOldOrders() {
+        try {
+            orderArchiver.archive();
+        } catch (Exception e) {
+            // A failed run resumes with the next one
+            log.warn("Archiving served orders failed", e);
+        }
+    }
+}
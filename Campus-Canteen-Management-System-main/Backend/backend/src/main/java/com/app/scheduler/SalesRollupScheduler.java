@@ -0,0 +1,30 @@
+package com.app.scheduler;
+
+import java.time.LocalDate;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import com.app.service.SalesService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SalesRollupScheduler {
+
+    @Autowired
+    private SalesService salesService;
+
+    // Fold today's item sales into the category rollup (yesterday too, for orders around midnight)
+    @Scheduled(fixedDelayString = "${sales.rollup.category-refresh-ms:60000}")
+    public void refreshCategorySales() {
+        try {
+            LocalDate today = LocalDate.now();
+            salesService.refreshCategorySales(today.minusDays(1), today);
+        } catch (Exception e) {
+            // Retried on the next run; the item rollup is already current
+            log.warn("Refreshing category sales failed", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+
+/**
+ * Versions behind the strong ETags of GET /items and GET /dailyitems.
+ *
+ * The catalog version is the 'items' row of catalog_version. Every catalog
+ * edit bumps it in its own transaction, and each conditional GET reads it
+ * with one primary key lookup, so every instance sees the same version as
+ * soon as the edit commits.
+ *
+ * The daily menu also changes with every placed order, which is too often
+ * for a shared row. Its ETag combines the catalog version with a counter of
+ * this instance, bumped once the change has committed. Bumping after commit
+ * means a reader can pair an older version with newer data, which only
+ * costs one extra download, but never pairs a newer version with older data.
+ * The ETag also carries the start time of this instance, since the counter
+ * restarts at zero. Stock sold on other instances reaches the counter
+ * through the stock ledger resync (TodayStockLedger).
+ */
+@Component
+public class CatalogVersions {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong dailyItemsVersion = new AtomicLong();
+
+	public CatalogVersions(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public String getItemsETag() {
+		return "\"items-" + itemsVersion() + "\"";
+	}
+
+	// Item master rows are also shown in the daily menu
+	public String getDailyItemsETag() {
+		return "\"daily-" + itemsVersion() + "-" + epoch + "-" + dailyItemsVersion.get() + "\"";
+	}
+
+	// Call inside the transaction of the edit; the row stays locked until it ends
+	public void itemsChanged() {
+		jdbcTemplate.update("update catalog_version set version = version + 1 where name = 'items'");
+	}
+
+	public void dailyItemsChanged() {
+		afterCommit(dailyItemsVersion::incrementAndGet);
+	}
+
+	// Sold quantities are part of the daily menu
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderEvent(OrderEvent event) {
+		if (event.type() == OrderEventType.ORDER_PLACED) {
+			dailyItemsVersion.incrementAndGet();
+		}
+	}
+
+	private long itemsVersion() {
+		return jdbcTemplate.queryForObject("select version from catalog_version where name = 'items'", Long.class);
+	}
+
+	private static void afterCommit(Runnable bump) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			bump.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				bump.run();
+			}
+		});
+	}
+}
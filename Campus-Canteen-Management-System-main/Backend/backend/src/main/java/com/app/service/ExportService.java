@@ -0,0 +1,16 @@
+package com.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.app.dto.ExportFormat;
+
+public interface ExportService {
+
+	// Orders (live and archived) placed between from and to, both days inclusive
+	void exportOrders(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException;
+
+	// Wallet recharges made between from and to, both days inclusive
+	void exportRecharges(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException;
+}
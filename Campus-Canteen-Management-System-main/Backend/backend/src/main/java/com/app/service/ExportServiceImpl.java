@@ -0,0 +1,216 @@
+package com.app.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.app.dto.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams export rows straight from the database to the response.
+ *
+ * The queries run on a JdbcTemplate with fetch size Integer.MIN_VALUE, which
+ * makes MySQL Connector/J stream a forward-only, read-only result set row by
+ * row instead of buffering it. Each row is written out as soon as it is read,
+ * so memory use does not depend on the number of rows. Deliberately not
+ * @Transactional: the streaming result set holds its own connection until it
+ * is fully read.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+	private static final String ORDER_COLUMNS = "o.order_id, o.time, o.student_id, s.name as student_name,"
+			+ " o.quantity, o.amount, o.discount_percentage, o.payment_method, o.transaction_id,"
+			+ " o.order_status, o.items_served";
+
+	private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	public ExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+		this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void exportOrders(LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+			throws IOException {
+		Map<String, Object> range = range(from, to);
+		try (RowWriter writer = rowWriter(format, out)) {
+			// Archived orders are older than the live ones, so they go first
+			stream("select " + ORDER_COLUMNS + " from orders_archive o"
+					+ " left join students s on s.student_id = o.student_id"
+					+ " where o.time >= :from and o.time < :to order by o.time, o.order_id", range, writer);
+			stream("select " + ORDER_COLUMNS + " from orders o"
+					+ " left join students s on s.student_id = o.student_id"
+					+ " where o.time >= :from and o.time < :to order by o.time, o.order_id", range, writer);
+		}
+	}
+
+	@Override
+	public void exportRecharges(LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+			throws IOException {
+		try (RowWriter writer = rowWriter(format, out)) {
+			stream("select r.transaction_id, r.timestamp, r.student_id, s.name as student_name,"
+					+ " r.amount_added, r.payment_id from recharge_history r"
+					+ " left join students s on s.student_id = r.student_id"
+					+ " where r.timestamp >= :from and r.timestamp < :to order by r.timestamp, r.transaction_id",
+					range(from, to), writer);
+		}
+	}
+
+	// ================= HELPERS =================
+
+	private static Map<String, Object> range(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("from must not be after to");
+		}
+		return Map.of("from", from.atStartOfDay(), "to", to.plusDays(1).atStartOfDay());
+	}
+
+	private void stream(String sql, Map<String, Object> params, RowWriter writer) {
+		streamingJdbcTemplate.query(sql, params, (ResultSetExtractor<Void>) rs -> {
+			try {
+				// Before the first row, so an empty export still has its header
+				writer.columns(rs.getMetaData());
+				while (rs.next()) {
+					writer.row(rs);
+				}
+			} catch (IOException e) {
+				// Client went away: stop reading, the result set is closed by JdbcTemplate
+				throw new UncheckedIOException(e);
+			}
+			return null;
+		});
+	}
+
+	private RowWriter rowWriter(ExportFormat format, OutputStream out) throws IOException {
+		return format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(objectMapper, out);
+	}
+
+	// Dates and times as ISO-8601 text, everything else as the driver returns it
+	private static Object value(ResultSet rs, int column) throws SQLException {
+		Object value = rs.getObject(column);
+		return value instanceof TemporalAccessor ? value.toString() : value;
+	}
+
+	private interface RowWriter extends AutoCloseable {
+		// Called for every result set, before its rows
+		default void columns(ResultSetMetaData meta) throws SQLException, IOException {
+		}
+
+		void row(ResultSet rs) throws SQLException, IOException;
+
+		@Override
+		void close() throws IOException;
+	}
+
+	// RFC 4180 CSV with a header row (taken from the first result set)
+	private static final class CsvRowWriter implements RowWriter {
+		// Leading characters a spreadsheet may treat as the start of a formula
+		private static final String FORMULA_START = "=+-@\t\r";
+
+		private final Writer writer;
+		private boolean headerWritten;
+
+		CsvRowWriter(OutputStream out) {
+			this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void columns(ResultSetMetaData meta) throws SQLException, IOException {
+			if (headerWritten) {
+				return;
+			}
+			for (int i = 1; i <= meta.getColumnCount(); i++) {
+				writeField(meta.getColumnLabel(i), i, false);
+			}
+			writer.write("\r\n");
+			headerWritten = true;
+		}
+
+		@Override
+		public void row(ResultSet rs) throws SQLException, IOException {
+			ResultSetMetaData meta = rs.getMetaData();
+			for (int i = 1; i <= meta.getColumnCount(); i++) {
+				Object value = value(rs, i);
+				// Only text can be a formula; a negative amount stays a number
+				writeField(value == null ? "" : value.toString(), i, value instanceof String);
+			}
+			writer.write("\r\n");
+		}
+
+		private void writeField(String text, int column, boolean guard) throws IOException {
+			if (column > 1) {
+				writer.write(',');
+			}
+			// Keep spreadsheets from evaluating text such as a name starting with '='
+			if (guard && !text.isEmpty() && FORMULA_START.indexOf(text.charAt(0)) >= 0) {
+				text = "'" + text;
+			}
+			if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+					|| text.indexOf('\r') >= 0) {
+				writer.write('"');
+				writer.write(text.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(text);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			writer.flush();
+		}
+	}
+
+	// One JSON object per line, keyed by column label
+	private static final class NdjsonRowWriter implements RowWriter {
+		private final JsonGenerator generator;
+
+		NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+			this.generator = objectMapper.getFactory().createGenerator(out);
+			// Leave the response stream open for the servlet container
+			this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Rows are separated by the newline written after each one, not by a space
+			this.generator.setRootValueSeparator(null);
+		}
+
+		@Override
+		public void row(ResultSet rs) throws SQLException, IOException {
+			ResultSetMetaData meta = rs.getMetaData();
+			generator.writeStartObject();
+			for (int i = 1; i <= meta.getColumnCount(); i++) {
+				generator.writeFieldName(meta.getColumnLabel(i));
+				generator.writeObject(value(rs, i));
+			}
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		public void close() throws IOException {
+			generator.close();
+		}
+	}
+}
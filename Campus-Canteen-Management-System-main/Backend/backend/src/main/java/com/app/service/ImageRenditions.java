@@ -0,0 +1,345 @@
+package com.app.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.dto.ImageSize;
+import com.app.repository.ItemImageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thumbnail / card / full renditions of the item pictures, kept in the
+ * MappedImageStore under the item and the content hash they were made from.
+ *
+ * Decoding and scaling run on a small bounded pool, never on a request
+ * thread: an upload only queues its picture once its transaction has
+ * committed. item_images stays the source of truth. A rendition that is
+ * missing (not generated yet, queue was full, or a fresh disk after a
+ * redeploy) is queued again when it is asked for, and the caller serves
+ * the original from the database meanwhile.
+ *
+ * A small upload can declare a huge canvas, so the dimensions are read from
+ * the header first: a picture above items.image.max-pixels is not decoded,
+ * and a large one is decoded subsampled to about twice the biggest
+ * rendition. The EXIF orientation of a JPEG is applied before scaling.
+ */
+@Slf4j
+@Component
+public class ImageRenditions {
+
+	private static final float JPEG_QUALITY = 0.85f;
+	private static final int EXIF_ORIENTATION = 0x0112;
+
+	private final ItemImageRepository imageRepo;
+	private final MappedImageStore store;
+
+	@Value("${items.image.workers:2}")
+	private int workers;
+
+	@Value("${items.image.queue-capacity:32}")
+	private int queueCapacity;
+
+	// Pictures declaring more pixels than this are served as uploaded only
+	@Value("${items.image.max-pixels:50000000}")
+	private long maxPixels;
+
+	private ThreadPoolExecutor pool;
+
+	// Pictures queued or being processed, so a burst of requests queues one job
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+	// Pictures ImageIO cannot or will not decode (e.g. WebP, CMYK JPEG, too
+	// many pixels): every size is the original
+	private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+	public ImageRenditions(ItemImageRepository imageRepo, MappedImageStore store) {
+		this.imageRepo = imageRepo;
+		this.store = store;
+	}
+
+	@PostConstruct
+	public void start() {
+		pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "image-renditions");
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * @return the stored rendition, or empty when it is not there (yet); its
+	 *         generation is then queued
+	 */
+	public Optional<Rendition> find(Long itemId, String sha256, ImageSize size) {
+		ImageSize stored = undecodable.contains(sha256) ? ImageSize.FULL : size;
+		Optional<MappedImageStore.Region> region = store.find(itemId, sha256, stored);
+		if (region.isPresent()) {
+			return Optional.of(new Rendition(region.get(), stored == ImageSize.FULL));
+		}
+		submit(sha256, () -> imageRepo.findContentByItemId(itemId)
+				.ifPresent(content -> generate(itemId, sha256, content)));
+		return Optional.empty();
+	}
+
+	// Queue the renditions of a new picture once the upload has committed
+	public void generateAfterCommit(Long itemId, String sha256, byte[] content) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			submit(sha256, () -> generate(itemId, sha256, content));
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				submit(sha256, () -> generate(itemId, sha256, content));
+			}
+		});
+	}
+
+	// ================= GENERATION =================
+
+	private void submit(String sha256, Runnable job) {
+		if (!pending.add(sha256)) {
+			return;
+		}
+		try {
+			pool.execute(() -> {
+				try {
+					job.run();
+				} catch (RuntimeException e) {
+					log.warn("Could not create renditions of image {}", sha256, e);
+				} finally {
+					pending.remove(sha256);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Busy: the originals are served until the next request queues it again
+			pending.remove(sha256);
+		}
+	}
+
+	private void generate(Long itemId, String sha256, byte[] content) {
+		store.put(itemId, sha256, ImageSize.FULL, content);
+		BufferedImage source;
+		try {
+			source = decode(content);
+		} catch (IOException | RuntimeException e) {
+			// Readers fail with either on data they do not support
+			source = null;
+		}
+		if (source == null) {
+			undecodable.add(sha256);
+			return;
+		}
+		source = orient(source, exifOrientation(content));
+		try {
+			for (ImageSize size : ImageSize.values()) {
+				if (size != ImageSize.FULL) {
+					ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+					writeJpeg(scale(source, size.getMaxSide()), jpeg);
+					store.put(itemId, sha256, size, jpeg.toByteArray());
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the picture, subsampled when it is much larger than the biggest
+	 *         rendition, or null when no reader supports it or it declares
+	 *         more than maxPixels
+	 */
+	private BufferedImage decode(byte[] content) throws IOException {
+		try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+			if (!readers.hasNext()) {
+				return null;
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(stream, true, true);
+				long width = reader.getWidth(0);
+				long height = reader.getHeight(0);
+				if (width * height > maxPixels) {
+					return null;
+				}
+				ImageReadParam param = reader.getDefaultReadParam();
+				int step = (int) Math.max(1, Math.max(width, height) / (2L * largestScaledSide()));
+				param.setSourceSubsampling(step, step, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private static int largestScaledSide() {
+		int largest = 1;
+		for (ImageSize size : ImageSize.values()) {
+			largest = Math.max(largest, size.getMaxSide());
+		}
+		return largest;
+	}
+
+	/**
+	 * @return the EXIF Orientation (1-8) of a JPEG, 1 (as stored) when there
+	 *         is none or the picture is not a JPEG
+	 */
+	private static int exifOrientation(byte[] content) {
+		ByteBuffer jpeg = ByteBuffer.wrap(content);
+		if (content.length < 4 || jpeg.getShort(0) != (short) 0xFFD8) {
+			return 1;
+		}
+		int position = 2;
+		// Marker segments up to the image data: FFxx, then a length including itself
+		while (position + 4 <= content.length && (content[position] & 0xFF) == 0xFF) {
+			int marker = content[position + 1] & 0xFF;
+			int length = jpeg.getShort(position + 2) & 0xFFFF;
+			if (marker == 0xDA || length < 2 || position + 2 + length > content.length) {
+				return 1;
+			}
+			if (marker == 0xE1 && length >= 16 && new String(content, position + 4, 6, StandardCharsets.ISO_8859_1)
+					.equals("Exif\0\0")) {
+				return tiffOrientation(jpeg.slice(position + 10, length - 8));
+			}
+			position += 2 + length;
+		}
+		return 1;
+	}
+
+	// Looks the Orientation tag up in IFD0 of the TIFF structure inside APP1
+	private static int tiffOrientation(ByteBuffer tiff) {
+		try {
+			tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+			int ifd = tiff.getInt(4);
+			int entries = tiff.getShort(ifd) & 0xFFFF;
+			for (int i = 0; i < entries; i++) {
+				int entry = ifd + 2 + i * 12;
+				if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION) {
+					int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+					return orientation >= 1 && orientation <= 8 ? orientation : 1;
+				}
+			}
+		} catch (IndexOutOfBoundsException e) {
+			// Truncated or malformed EXIF: keep the picture as stored
+		}
+		return 1;
+	}
+
+	// Turns the stored pixels upright as EXIF orientation 2-8 describes
+	private static BufferedImage orient(BufferedImage source, int orientation) {
+		int w = source.getWidth();
+		int h = source.getHeight();
+		AffineTransform transform = switch (orientation) {
+			case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0); // mirrored
+			case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // upside down
+			case 4 -> new AffineTransform(1, 0, 0, -1, 0, h); // mirrored upside down
+			case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // transposed
+			case 6 -> new AffineTransform(0, 1, -1, 0, h, 0); // rotate 90 clockwise
+			case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // transversed
+			case 8 -> new AffineTransform(0, -1, 1, 0, 0, w); // rotate 90 counter-clockwise
+			default -> null;
+		};
+		if (transform == null) {
+			return source;
+		}
+		boolean swapped = orientation >= 5;
+		BufferedImage target = new BufferedImage(swapped ? h : w, swapped ? w : h, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.drawImage(source, transform, null);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+
+	// Fits the longest side into maxSide (never enlarges), halving first for quality
+	private static BufferedImage scale(BufferedImage source, int maxSide) {
+		int longest = Math.max(source.getWidth(), source.getHeight());
+		double ratio = Math.min(1.0, (double) maxSide / longest);
+		int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+		int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+		BufferedImage current = source;
+		while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+			current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+		}
+		return draw(current, width, height);
+	}
+
+	// JPEG has no alpha: transparent areas become white
+	private static BufferedImage draw(BufferedImage source, int width, int height) {
+		BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+
+	private static void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(JPEG_QUALITY);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * What to serve. The scaled renditions are JPEG; an original keeps the
+	 * content type it was uploaded with.
+	 */
+	public record Rendition(MappedImageStore.Region region, boolean original) {
+	}
+}
@@ -3,9 +3,7 @@ package com.app.service;
 import java.util.List;
 import java.time.LocalDate;
 
-import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +13,7 @@ import com.app.dto.ItemDailyDTO;
 import com.app.entities.ItemDaily;
 import com.app.entities.ItemMaster;
 import com.app.exceptions.ResourceNotFoundException;
+import com.app.mapper.DtoMapper;
 import com.app.repository.ItemDailyRepository;
 import com.app.repository.ItemMasterRepository;
 
@@ -29,29 +28,19 @@ public class ItemDailyServiceImpl implements ItemDailyService {
     private ItemMasterRepository itemMasRepo;
 
     @Autowired
-    private ModelMapper mapper;
+    private TodayStockLedger stockLedger;
+
+    @Autowired
+    private DtoMapper mapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
 
     // ================= GET ALL =================
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDailyDTO> getAllDailyItems() {
-        return itemRepo.findAll()
-                .stream()
-                .map(item -> {
-                    ItemDailyDTO dto = mapper.map(item, ItemDailyDTO.class);
-                    // Manually map fields that might be missed by strict ModelMapper compilation
-                    dto.setDailyId(item.getDailyId());
-                    dto.setItemId(item.getItem().getId()); // Crucial: Link to Master Item
-                    dto.setItemName(item.getItem().getItemName());
-                    dto.setItemMasterId(item.getItem().getId());
-
-                    // Added fields for Frontend Display
-                    dto.setItemPrice(item.getItem().getItemPrice());
-                    dto.setItemImage(item.getItem().getItemImage());
-                    dto.setItemCategory(item.getItem().getItemCategory().toString());
-
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return itemRepo.findAllDTOs();
     }
 
     // ================= ADD =================
@@ -75,6 +64,8 @@ public class ItemDailyServiceImpl implements ItemDailyService {
             // Here we just update initialQty as per user flow.
             item.setInitialQty(dto.getInitialQty());
             itemRepo.save(item);
+            stockLedger.reloadAfterCommit();
+            catalogVersions.dailyItemsChanged();
             return new ApiResponse("Updated existing daily item: " + itemMaster.getItemName());
         }
 
@@ -86,11 +77,14 @@ public class ItemDailyServiceImpl implements ItemDailyService {
         item.setDate(LocalDate.now()); // Explicitly set Date
 
         try {
-            itemRepo.save(item);
+            // flush now so a duplicate (item_date, item_id) surfaces here, not at commit
+            itemRepo.saveAndFlush(item);
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             // Race condition catch: if unique constraint is violated
             return new ApiResponse("Item already exists in daily menu (Duplicate prevented).");
         }
+        stockLedger.reloadAfterCommit();
+        catalogVersions.dailyItemsChanged();
 
         return new ApiResponse("Added item to daily menu: " + itemMaster.getItemName());
     }
@@ -109,17 +103,20 @@ public class ItemDailyServiceImpl implements ItemDailyService {
         if (dto.getSoldQty() != null) {
             item.setSoldQty(dto.getSoldQty());
         }
+        stockLedger.reloadAfterCommit();
+        catalogVersions.dailyItemsChanged();
 
-        return mapper.map(item, ItemDailyDTO.class);
+        return mapper.toItemDailyDTO(item);
     }
 
     // ================= GET ONE =================
     @Override
+    @Transactional(readOnly = true)
     public ItemDailyDTO getItemDetails(Long dailyId) {
         ItemDaily item = itemRepo.findById(dailyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid Daily Item ID"));
 
-        return mapper.map(item, ItemDailyDTO.class);
+        return mapper.toItemDailyDTO(item);
     }
 
     // ================= DELETE ONE =================
@@ -130,6 +127,8 @@ public class ItemDailyServiceImpl implements ItemDailyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
 
         itemRepo.delete(item);
+        stockLedger.reloadAfterCommit();
+        catalogVersions.dailyItemsChanged();
 
         return new ApiResponse(
                 "Daily item deleted with ID " + dailyId);
@@ -139,6 +138,8 @@ public class ItemDailyServiceImpl implements ItemDailyService {
     @Override
     public ApiResponse deleteAllDailyItems() {
         itemRepo.deleteAll();
+        stockLedger.reloadAfterCommit();
+        catalogVersions.dailyItemsChanged();
         return new ApiResponse("All daily items deleted");
     }
 }
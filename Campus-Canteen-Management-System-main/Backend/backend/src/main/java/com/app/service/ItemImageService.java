@@ -0,0 +1,19 @@
+package com.app.service;
+
+import com.app.dto.ItemImageDTO;
+import com.app.entities.ItemMaster;
+
+public interface ItemImageService {
+
+	/**
+	 * Applies the itemImage value of an add/update request to a saved item: a
+	 * base64 data URL replaces the picture, an empty string removes it, and
+	 * anything else (null, or the image URL the item was read with) leaves it
+	 * unchanged.
+	 */
+	void apply(ItemMaster item, String itemImage);
+
+	ItemImageDTO getImageInfo(Long itemId);
+
+	byte[] getImageContent(Long itemId);
+}
@@ -0,0 +1,111 @@
+package com.app.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dto.ItemImageDTO;
+import com.app.entities.ItemImage;
+import com.app.entities.ItemMaster;
+import com.app.exceptions.ResourceNotFoundException;
+import com.app.repository.ItemImageRepository;
+
+@Service
+@Transactional
+public class ItemImageServiceImpl implements ItemImageService {
+
+	private static final String DATA_URL_PREFIX = "data:";
+	private static final String BASE64_MARKER = ";base64,";
+	// Raster formats only: an SVG is a document that can carry script
+	private static final Set<String> CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/webp", "image/gif");
+
+	@Autowired
+	private ItemImageRepository imageRepo;
+	@Autowired
+	private ImageRenditions renditions;
+
+	@Value("${items.image.max-bytes:5242880}")
+	private int maxBytes;
+
+	@Override
+	public void apply(ItemMaster item, String itemImage) {
+		if (itemImage == null) {
+			return;
+		}
+		if (itemImage.isEmpty()) {
+			if (item.getImageHash() != null) {
+				imageRepo.deleteByItemId(item.getId());
+				item.setImageHash(null);
+			}
+			return;
+		}
+		if (!itemImage.startsWith(DATA_URL_PREFIX)) {
+			return;
+		}
+
+		// data:<content type>;base64,<payload>
+		int marker = itemImage.indexOf(BASE64_MARKER);
+		String contentType = marker < 0 ? ""
+				: itemImage.substring(DATA_URL_PREFIX.length(), marker).toLowerCase(Locale.ROOT);
+		if (!CONTENT_TYPES.contains(contentType)) {
+			throw new IllegalArgumentException("itemImage must be a base64 JPEG, PNG, WebP or GIF data URL");
+		}
+		byte[] content;
+		try {
+			content = Base64.getDecoder().decode(itemImage.substring(marker + BASE64_MARKER.length()));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("itemImage is not valid base64");
+		}
+		if (content.length > maxBytes) {
+			throw new IllegalArgumentException("Image too large: " + content.length + " bytes (max " + maxBytes + ")");
+		}
+
+		String sha256 = sha256(content);
+		if (sha256.equals(item.getImageHash())) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		if (imageRepo.replaceContent(item.getId(), contentType, content, sha256, now) == 0) {
+			ItemImage image = new ItemImage();
+			image.setItemId(item.getId());
+			image.setContentType(contentType);
+			image.setContent(content);
+			image.setSha256(sha256);
+			image.setUpdatedAt(now);
+			imageRepo.save(image);
+		}
+		item.setImageHash(sha256);
+		renditions.generateAfterCommit(item.getId(), sha256, content);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ItemImageDTO getImageInfo(Long itemId) {
+		return imageRepo.findInfoByItemId(itemId)
+				.orElseThrow(() -> new ResourceNotFoundException("No image for item " + itemId));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public byte[] getImageContent(Long itemId) {
+		return imageRepo.findContentByItemId(itemId)
+				.orElseThrow(() -> new ResourceNotFoundException("No image for item " + itemId));
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -6,13 +6,13 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.app.dto.ApiResponse;
 import com.app.dto.ItemMasterDTO;
 import com.app.entities.ItemMaster;
 import com.app.exceptions.ResourceNotFoundException;
+import com.app.mapper.DtoMapper;
 import com.app.repository.ItemMasterRepository;
 
 @Service
@@ -22,27 +22,35 @@ public class ItemMasterServiceImpl implements ItemMasterService {
 	@Autowired
 	private ItemMasterRepository itemRepo;
 	@Autowired
-	private ModelMapper mapper;
+	private DtoMapper mapper;
+	@Autowired
+	private CatalogVersions catalogVersions;
+	@Autowired
+	private ItemImageService imageService;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ItemMasterDTO> getAllMatserItems() {
 		List<ItemMaster> itemList = itemRepo.findAll();
-		return itemList.stream().map(item -> mapper.map(item, ItemMasterDTO.class)).collect(Collectors.toList());
+		return itemList.stream().map(mapper::toItemMasterDTO).collect(Collectors.toList());
 	}
 
 	@Override
 	public ApiResponse deleteItemDetails(Long itemId) {
 		ItemMaster item = itemRepo.findById(itemId).orElseThrow(() -> new ResourceNotFoundException("Item not found"));
 		itemRepo.delete(item);
+		catalogVersions.itemsChanged();
 		return new ApiResponse("Item Details of item with ID " + item.getId() + " deleted....");
 
 	}
 
 	@Override
 	public ItemMasterDTO addNewitem(ItemMasterDTO dto) {
-		ItemMaster itemEntity = mapper.map(dto, ItemMaster.class);
+		ItemMaster itemEntity = mapper.toItemMaster(dto);
 		ItemMaster persistentItem = itemRepo.save(itemEntity);
-		return mapper.map(persistentItem, ItemMasterDTO.class);
+		imageService.apply(persistentItem, dto.getItemImage());
+		catalogVersions.itemsChanged();
+		return mapper.toItemMasterDTO(persistentItem);
 	}
 
 	@Override
@@ -53,18 +61,19 @@ public class ItemMasterServiceImpl implements ItemMasterService {
 		item.setItemPrice(dto.getItemPrice());
 		item.setItemCategory(dto.getItemCategory());
 		item.setItemGenre(dto.getItemGenre());
-		item.setItemImage(dto.getItemImage());
+		imageService.apply(item, dto.getItemImage());
 		item.setSoldQty(dto.getSoldQty());
 		item.setTotalQty(dto.getTotalQty());
-		return mapper.map(item, ItemMasterDTO.class);
+		catalogVersions.itemsChanged();
+		return mapper.toItemMasterDTO(item);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public ItemMasterDTO getItemDetails(Long itemId) {
 
-		return mapper.map(
-				itemRepo.findById(itemId).orElseThrow(() -> new ResourceNotFoundException("Invalid Item Id !!!!")),
-				ItemMasterDTO.class);
+		return mapper.toItemMasterDTO(
+				itemRepo.findById(itemId).orElseThrow(() -> new ResourceNotFoundException("Invalid Item Id !!!!")));
 	}
 
 }
\ No newline at end of file
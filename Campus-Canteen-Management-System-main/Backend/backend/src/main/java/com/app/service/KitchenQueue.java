@@ -0,0 +1,322 @@
+package com.app.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.CartDTO;
+import com.app.dto.OrderDTO;
+import com.app.entities.OrderStatus;
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+import com.app.events.OrderStatusBatchEvent;
+import com.app.repository.CartRepository;
+import com.app.repository.OrderRepository;
+
+/**
+ * In-memory view of the kitchen: the PENDING orders in arrival order
+ * (time, orderId) and the number of orders in each status.
+ *
+ * It is loaded from the database at startup and kept current from the
+ * committed OrderEvents, so the pending list, the per-status counts and
+ * an order's queue position are answered without a query. The database is
+ * only read again for the periodic reconciliation, which also picks up
+ * changes made by other instances.
+ *
+ * A reload reads in one repeatable-read transaction while events keep
+ * arriving. Events delivered during the read are buffered and replayed on
+ * the new snapshot before it is swapped in, and the snapshot tracks the
+ * status of each order it knows (the pending ones, the ones in buffered
+ * events as of the read, and every order an event moved since). A status
+ * change is only counted when it differs from the tracked status, so an
+ * event the read already reflects is not applied twice.
+ *
+ * Orders a batch puts back to PENDING arrive without details. Those are
+ * loaded in a transaction of their own before the event is delivered, so no
+ * query runs under the queue's lock or inside a reload's snapshot.
+ */
+@Component
+public class KitchenQueue {
+
+	private static final Comparator<QueueKey> ARRIVAL_ORDER = Comparator
+			.comparing(QueueKey::time)
+			.thenComparing(QueueKey::orderId);
+
+	private final OrderRepository orderRepository;
+	private final CartRepository cartRepository;
+	private final TransactionTemplate readTemplate;
+	private final TransactionTemplate detailsTemplate;
+
+	private volatile Snapshot snapshot;
+
+	// Guarded by "this": events delivered while a reload reads, null when none runs
+	private List<Object> buffered;
+
+	public KitchenQueue(OrderRepository orderRepository, CartRepository cartRepository,
+			PlatformTransactionManager transactionManager) {
+		this.orderRepository = orderRepository;
+		this.cartRepository = cartRepository;
+		this.readTemplate = new TransactionTemplate(transactionManager);
+		readTemplate.setReadOnly(true);
+		readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		// After commit the committing transaction's connection is still bound: read in a new one
+		this.detailsTemplate = new TransactionTemplate(transactionManager);
+		detailsTemplate.setReadOnly(true);
+		detailsTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadOnStartup() {
+		reload();
+	}
+
+	@Scheduled(fixedDelayString = "${kitchen.queue.reconcile-ms:60000}")
+	public void reconcile() {
+		reload();
+	}
+
+	// ================= LOAD =================
+
+	public void reload() {
+		synchronized (this) {
+			buffered = new ArrayList<>();
+		}
+		try {
+			readTemplate.executeWithoutResult(status -> {
+				Snapshot fresh = load();
+				// Held until the swap, so no event slips between the replay and it
+				synchronized (this) {
+					List<Object> events = buffered;
+					buffered = null;
+					trackStatuses(fresh, events);
+					for (Object event : events) {
+						apply(fresh, event);
+					}
+					snapshot = fresh;
+				}
+			});
+		} finally {
+			synchronized (this) {
+				buffered = null;
+			}
+		}
+	}
+
+	private Snapshot load() {
+		Snapshot fresh = new Snapshot();
+		for (Object[] row : orderRepository.countGroupedByStatus()) {
+			fresh.counts.get((OrderStatus) row[0]).add((Long) row[1]);
+		}
+		List<OrderDTO> pending = orderRepository.findDTOsByOrderStatus(OrderStatus.PENDING);
+		Map<Long, List<CartDTO>> cartsByOrder = cartRepository.findDTOsByOrderStatus(OrderStatus.PENDING)
+				.stream()
+				.collect(Collectors.groupingBy(CartDTO::getOrderId));
+		for (OrderDTO order : pending) {
+			order.setCartList(cartsByOrder.get(order.getOrderId()));
+			fresh.statusById.put(order.getOrderId(), OrderStatus.PENDING);
+			fresh.enqueue(order);
+		}
+		return fresh;
+	}
+
+	// The status of each order in the buffered events, as the reload's read saw it
+	private void trackStatuses(Snapshot fresh, List<Object> events) {
+		Set<Long> orderIds = new HashSet<>();
+		for (Object event : events) {
+			if (event instanceof OrderEvent orderEvent) {
+				orderIds.add(orderEvent.order().getOrderId());
+			} else if (event instanceof OrderStatusBatchEvent batch) {
+				orderIds.addAll(batch.previousStatusById().keySet());
+			} else if (event instanceof Requeued requeued) {
+				orderIds.addAll(requeued.batch().previousStatusById().keySet());
+			}
+		}
+		if (orderIds.isEmpty()) {
+			return;
+		}
+		for (Object[] row : orderRepository.findStatusesByOrderIdIn(orderIds)) {
+			fresh.statusById.put((Long) row[0], (OrderStatus) row[1]);
+		}
+	}
+
+	public boolean isLoaded() {
+		return snapshot != null;
+	}
+
+	// ================= UPDATES =================
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderEvent(OrderEvent event) {
+		deliver(event);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderStatusBatch(OrderStatusBatchEvent event) {
+		if (event.status() != OrderStatus.PENDING) {
+			deliver(event);
+			return;
+		}
+		// Orders put back to PENDING: the event has no order details, load them first
+		List<OrderDTO> orders = detailsTemplate.execute(status -> {
+			List<Long> orderIds = new ArrayList<>(event.previousStatusById().keySet());
+			Map<Long, List<CartDTO>> cartsByOrder = cartRepository.findDTOsByOrderIdIn(orderIds)
+					.stream()
+					.collect(Collectors.groupingBy(CartDTO::getOrderId));
+			List<OrderDTO> found = orderRepository.findDTOsByOrderIdIn(orderIds);
+			found.forEach(order -> order.setCartList(cartsByOrder.get(order.getOrderId())));
+			return found;
+		});
+		deliver(new Requeued(event, orders));
+	}
+
+	private synchronized void deliver(Object event) {
+		if (buffered != null) {
+			buffered.add(event);
+		}
+		Snapshot current = snapshot;
+		if (current != null) {
+			apply(current, event);
+		}
+	}
+
+	private void apply(Snapshot current, Object event) {
+		if (event instanceof OrderEvent orderEvent) {
+			apply(current, orderEvent);
+		} else if (event instanceof OrderStatusBatchEvent batch) {
+			apply(current, batch);
+		} else if (event instanceof Requeued requeued) {
+			apply(current, requeued);
+		}
+	}
+
+	private void apply(Snapshot current, OrderEvent event) {
+		OrderDTO order = event.order();
+		// previousStatus is null for ORDER_PLACED: only counted when not already known
+		current.move(order.getOrderId(), event.previousStatus(), order.getOrderStatus());
+		if (order.getOrderStatus() == OrderStatus.PENDING) {
+			current.enqueue(order);
+		} else if (event.type() != OrderEventType.ORDER_PLACED) {
+			current.dequeue(order.getOrderId());
+		}
+	}
+
+	private void apply(Snapshot current, OrderStatusBatchEvent event) {
+		event.previousStatusById().forEach((orderId, previous) -> current.move(orderId, previous, event.status()));
+		event.previousStatusById().keySet().forEach(current::dequeue);
+	}
+
+	private void apply(Snapshot current, Requeued requeued) {
+		OrderStatusBatchEvent event = requeued.batch();
+		event.previousStatusById().forEach((orderId, previous) -> current.move(orderId, previous, event.status()));
+		for (OrderDTO order : requeued.orders()) {
+			// Moved on again by a later commit before the details were read: not pending any more
+			if (order.getOrderStatus() == OrderStatus.PENDING) {
+				current.enqueue(order);
+			}
+		}
+	}
+
+	// ================= READS =================
+
+	public List<OrderDTO> getPendingOrders() {
+		return new ArrayList<>(snapshot.pending.values());
+	}
+
+	public long getCount(OrderStatus status) {
+		return snapshot.counts.get(status).sum();
+	}
+
+	/**
+	 * Counts the pending orders ahead of this one, so the cost grows with the
+	 * pending list (a walk of the skip list, a few hundred entries at most in
+	 * a canteen) rather than being constant.
+	 *
+	 * @return 1-based place of the order among the pending orders, or null
+	 *         when it is not pending
+	 */
+	public Integer getPosition(Long orderId) {
+		Snapshot current = snapshot;
+		QueueKey key = current.keyById.get(orderId);
+		if (key == null) {
+			return null;
+		}
+		return current.pending.headMap(key).size() + 1;
+	}
+
+	public int getPendingSize() {
+		return snapshot.pending.size();
+	}
+
+	private record QueueKey(LocalDateTime time, Long orderId) {
+	}
+
+	// A batch back to PENDING together with the details of its orders, loaded before delivery
+	private record Requeued(OrderStatusBatchEvent batch, List<OrderDTO> orders) {
+	}
+
+	private static final class Snapshot {
+		final ConcurrentSkipListMap<QueueKey, OrderDTO> pending = new ConcurrentSkipListMap<>(ARRIVAL_ORDER);
+		final Map<Long, QueueKey> keyById = new ConcurrentHashMap<>();
+		final Map<OrderStatus, LongAdder> counts = new EnumMap<>(OrderStatus.class);
+		// Status each known order is counted under; only changed under the queue's lock
+		final Map<Long, OrderStatus> statusById = new HashMap<>();
+
+		Snapshot() {
+			for (OrderStatus status : OrderStatus.values()) {
+				counts.put(status, new LongAdder());
+			}
+		}
+
+		/**
+		 * Counts the order under status instead of its tracked status, or
+		 * previous when it is not tracked (null: not counted yet). Nothing
+		 * changes when it is already counted under status.
+		 */
+		void move(Long orderId, OrderStatus previous, OrderStatus status) {
+			OrderStatus from = statusById.getOrDefault(orderId, previous);
+			if (from == status) {
+				return;
+			}
+			if (from != null) {
+				counts.get(from).decrement();
+			}
+			counts.get(status).increment();
+			statusById.put(orderId, status);
+		}
+
+		void enqueue(OrderDTO order) {
+			// Orders without a time (legacy rows) go to the front
+			LocalDateTime time = order.getTime() != null ? order.getTime() : LocalDateTime.MIN;
+			QueueKey key = new QueueKey(time, order.getOrderId());
+			keyById.put(order.getOrderId(), key);
+			pending.put(key, order);
+		}
+
+		void dequeue(Long orderId) {
+			QueueKey key = keyById.remove(orderId);
+			if (key != null) {
+				pending.remove(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,350 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.CartDTO;
+import com.app.dto.CategorySalesDTO;
+import com.app.dto.ItemSalesDTO;
+import com.app.dto.LiveStatsDTO;
+import com.app.dto.OrderDTO;
+import com.app.entities.ItemCategory;
+import com.app.entities.OrderStatus;
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+import com.app.events.OrderStatusBatchEvent;
+
+/**
+ * Live dashboard counters, kept in memory and fed from the committed order
+ * events, so /admin/stats/live never queries MySQL.
+ *
+ * Orders, revenue and served orders are counted per minute in ring buffers
+ * covering the last 24 hours, and item sales per minute for the last hour.
+ * Each slot packs the minute it belongs to with its count in one long. A
+ * writer bumps it with a CAS and restarts it when the slot still holds an
+ * older minute, so stale slots need no sweeper and writers never lock.
+ * Today's totals per item and per category are LongAdders, replaced at
+ * midnight. The order path allocates nothing once an item has been seen
+ * that day.
+ *
+ * Today's totals are seeded from the daily sales rollup at startup. The
+ * per-minute history starts empty. The counters are per instance, like
+ * the order event stream.
+ *
+ * The seed is read in one repeatable-read transaction while orders keep
+ * being placed, as in KitchenQueue.reload(). Orders placed during the read
+ * are buffered and replayed on the new totals before they are installed.
+ * The totals remember which of today's orders the read already counted,
+ * so none of them is counted a second time, whether it is replayed or its
+ * event arrives late.
+ */
+@Component
+public class LiveStats {
+
+	private static final int DAY_MINUTES = 24 * 60;
+	private static final int ITEM_MINUTES = 60;
+
+	// Slot layout: minute since the epoch in the high bits, count in the low COUNT_BITS
+	private static final int COUNT_BITS = 38;
+	private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate readTemplate;
+
+	private final AtomicLongArray ordersPerMinute = new AtomicLongArray(DAY_MINUTES);
+	private final AtomicLongArray revenuePerMinute = new AtomicLongArray(DAY_MINUTES);
+	private final AtomicLongArray servedPerMinute = new AtomicLongArray(DAY_MINUTES);
+
+	private final Map<Long, ItemStats> items = new ConcurrentHashMap<>();
+	private volatile Day today = new Day(LocalDate.now(), Set.of());
+
+	// Guarded by "this": orders placed while load() reads, null when it does not run
+	private List<OrderDTO> buffered;
+	private volatile boolean loading;
+
+	public LiveStats(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.readTemplate = new TransactionTemplate(transactionManager);
+		readTemplate.setReadOnly(true);
+		readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+	}
+
+	// ================= LOAD =================
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		jdbcTemplate.query("select item_id, item_name, item_category from item_master", rs -> {
+			items.put(rs.getLong("item_id"), new ItemStats(rs.getLong("item_id"), rs.getString("item_name"),
+					ItemCategory.valueOf(rs.getString("item_category"))));
+		});
+		synchronized (this) {
+			buffered = new ArrayList<>();
+			loading = true;
+		}
+		try {
+			readTemplate.executeWithoutResult(status -> {
+				Day fresh = read(LocalDate.now());
+				// Held until the swap, so no order slips between the replay and it
+				synchronized (this) {
+					for (OrderDTO order : buffered) {
+						count(fresh, order);
+					}
+					buffered = null;
+					loading = false;
+					today = fresh;
+				}
+			});
+		} finally {
+			synchronized (this) {
+				buffered = null;
+				loading = false;
+			}
+		}
+	}
+
+	private Day read(LocalDate date) {
+		Map<String, Object> params = Map.of("today", date);
+		Day day = new Day(date, new HashSet<>(jdbcTemplate.queryForList(
+				"select order_id from orders where time >= :today", params, Long.class)));
+		jdbcTemplate.query("select item_id, qty, revenue from daily_item_sales where sale_date = :today", params,
+				rs -> {
+					ItemStats item = item(rs.getLong("item_id"), null);
+					day.add(item, rs.getLong("qty"), rs.getLong("revenue"));
+					day.revenue.add(rs.getLong("revenue"));
+				});
+		day.orders.add(day.loadedOrderIds.size());
+		return day;
+	}
+
+	// ================= UPDATES =================
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderEvent(OrderEvent event) {
+		OrderDTO order = event.order();
+		long minute = currentMinute();
+		if (event.type() == OrderEventType.ORDER_PLACED) {
+			add(ordersPerMinute, minute, 1);
+			add(revenuePerMinute, minute, order.getAmount() == null ? 0 : order.getAmount());
+			List<CartDTO> lines = order.getCartList();
+			if (lines != null) {
+				for (int i = 0; i < lines.size(); i++) {
+					CartDTO line = lines.get(i);
+					ItemStats item = item(line.getItemId(), line.getItemName());
+					add(item.qtyPerMinute, minute, line.getQtyOrdered() == null ? 0 : line.getQtyOrdered());
+					add(item.revenuePerMinute, minute, line.getNetPrice() == null ? 0 : line.getNetPrice());
+				}
+			}
+			countToday(order);
+		} else if (order.getOrderStatus() == OrderStatus.SERVED && event.previousStatus() != OrderStatus.SERVED) {
+			add(servedPerMinute, minute, 1);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderStatusBatch(OrderStatusBatchEvent event) {
+		if (event.status() == OrderStatus.SERVED) {
+			add(servedPerMinute, currentMinute(), event.previousStatusById().size());
+		}
+	}
+
+	// Checks loading before reading today, so an order that misses the buffer is in the seed or after it
+	private void countToday(OrderDTO order) {
+		if (loading) {
+			synchronized (this) {
+				if (buffered != null) {
+					buffered.add(order);
+					return;
+				}
+			}
+		}
+		count(day(LocalDate.now()), order);
+	}
+
+	private void count(Day day, OrderDTO order) {
+		if (day.loadedOrderIds.contains(order.getOrderId())) {
+			return;
+		}
+		long amount = order.getAmount() == null ? 0 : order.getAmount();
+		day.orders.increment();
+		day.revenue.add(amount);
+		List<CartDTO> lines = order.getCartList();
+		if (lines != null) {
+			for (int i = 0; i < lines.size(); i++) {
+				CartDTO line = lines.get(i);
+				day.add(item(line.getItemId(), line.getItemName()),
+						line.getQtyOrdered() == null ? 0 : line.getQtyOrdered(),
+						line.getNetPrice() == null ? 0 : line.getNetPrice());
+			}
+		}
+	}
+
+	// ================= READS =================
+
+	/**
+	 * @param windowMinutes length of the recent window (1 to 1440); the top
+	 *                      items cover at most the last 60 minutes of it
+	 */
+	public LiveStatsDTO snapshot(int windowMinutes, int topItems) {
+		if (windowMinutes < 1 || windowMinutes > DAY_MINUTES) {
+			throw new IllegalArgumentException("windowMinutes must be between 1 and " + DAY_MINUTES);
+		}
+		if (topItems < 1) {
+			throw new IllegalArgumentException("top must be at least 1");
+		}
+		long minute = currentMinute();
+		Day day = day(LocalDate.now());
+		int itemWindow = Math.min(windowMinutes, ITEM_MINUTES);
+
+		List<ItemSalesDTO> recentItems = new ArrayList<>();
+		for (ItemStats item : items.values()) {
+			long qty = sum(item.qtyPerMinute, minute, itemWindow);
+			if (qty > 0) {
+				recentItems.add(new ItemSalesDTO(item.itemId, item.itemName, qty,
+						sum(item.revenuePerMinute, minute, itemWindow)));
+			}
+		}
+		recentItems.sort((a, b) -> Long.compare(b.getQty(), a.getQty()));
+
+		List<ItemSalesDTO> todaysItems = new ArrayList<>();
+		day.qtyByItem.forEach((itemId, qty) -> {
+			ItemStats item = items.get(itemId);
+			todaysItems.add(new ItemSalesDTO(itemId, item == null ? null : item.itemName, qty.sum(),
+					day.revenueByItem.get(itemId).sum()));
+		});
+		todaysItems.sort((a, b) -> Long.compare(b.getQty(), a.getQty()));
+
+		List<CategorySalesDTO> categories = new ArrayList<>();
+		day.qtyByCategory.forEach((category, qty) -> categories.add(
+				new CategorySalesDTO(category, qty.sum(), day.revenueByCategory.get(category).sum())));
+
+		return new LiveStatsDTO(LocalDateTime.now(), windowMinutes,
+				sum(ordersPerMinute, minute, windowMinutes),
+				sum(revenuePerMinute, minute, windowMinutes),
+				sum(servedPerMinute, minute, windowMinutes),
+				day.orders.sum(), day.revenue.sum(),
+				top(recentItems, topItems), top(todaysItems, topItems), categories);
+	}
+
+	// ================= HELPERS =================
+
+	private static List<ItemSalesDTO> top(List<ItemSalesDTO> sorted, int count) {
+		return new ArrayList<>(sorted.subList(0, Math.min(count, sorted.size())));
+	}
+
+	private static long currentMinute() {
+		return System.currentTimeMillis() / 60_000;
+	}
+
+	private static void add(AtomicLongArray ring, long minute, long delta) {
+		int slot = (int) (minute % ring.length());
+		long stamp = minute << COUNT_BITS;
+		long current;
+		long next;
+		do {
+			current = ring.get(slot);
+			next = (current & ~COUNT_MASK) == stamp ? current + delta : stamp | delta;
+		} while (!ring.compareAndSet(slot, current, next));
+	}
+
+	// Total of the last `minutes` slots up to and including `minute`
+	private static long sum(AtomicLongArray ring, long minute, int minutes) {
+		long total = 0;
+		for (long m = minute - minutes + 1; m <= minute; m++) {
+			long value = ring.get((int) (m % ring.length()));
+			if (value >>> COUNT_BITS == m) {
+				total += value & COUNT_MASK;
+			}
+		}
+		return total;
+	}
+
+	// The item's counters; only a menu item not seen since startup is looked up
+	private ItemStats item(Long itemId, String itemName) {
+		ItemStats item = items.get(itemId);
+		if (item != null) {
+			return item;
+		}
+		return items.computeIfAbsent(itemId, id -> {
+			List<String> category = jdbcTemplate.queryForList(
+					"select item_category from item_master where item_id = :id", Map.of("id", id), String.class);
+			return new ItemStats(id, itemName, category.isEmpty() ? null : ItemCategory.valueOf(category.get(0)));
+		});
+	}
+
+	// Today's totals, started afresh by the first caller after midnight
+	private Day day(LocalDate date) {
+		Day current = today;
+		if (current.date.equals(date)) {
+			return current;
+		}
+		synchronized (this) {
+			if (!today.date.equals(date)) {
+				today = new Day(date, Set.of());
+			}
+			return today;
+		}
+	}
+
+	private static final class ItemStats {
+		final Long itemId;
+		final String itemName;
+		final ItemCategory category; // null when the item is no longer in item_master
+		final AtomicLongArray qtyPerMinute = new AtomicLongArray(ITEM_MINUTES);
+		final AtomicLongArray revenuePerMinute = new AtomicLongArray(ITEM_MINUTES);
+
+		ItemStats(Long itemId, String itemName, ItemCategory category) {
+			this.itemId = itemId;
+			this.itemName = itemName;
+			this.category = category;
+		}
+	}
+
+	private static final class Day {
+		final LocalDate date;
+		// Orders already in the totals read at startup, so their events are not counted again
+		final Set<Long> loadedOrderIds;
+		final LongAdder orders = new LongAdder();
+		final LongAdder revenue = new LongAdder();
+		final Map<Long, LongAdder> qtyByItem = new ConcurrentHashMap<>();
+		final Map<Long, LongAdder> revenueByItem = new ConcurrentHashMap<>();
+		final Map<ItemCategory, LongAdder> qtyByCategory = new EnumMap<>(ItemCategory.class);
+		final Map<ItemCategory, LongAdder> revenueByCategory = new EnumMap<>(ItemCategory.class);
+
+		Day(LocalDate date, Set<Long> loadedOrderIds) {
+			this.date = date;
+			this.loadedOrderIds = loadedOrderIds;
+			for (ItemCategory category : ItemCategory.values()) {
+				qtyByCategory.put(category, new LongAdder());
+				revenueByCategory.put(category, new LongAdder());
+			}
+		}
+
+		void add(ItemStats item, long qty, long revenue) {
+			qtyByItem.computeIfAbsent(item.itemId, id -> new LongAdder()).add(qty);
+			revenueByItem.computeIfAbsent(item.itemId, id -> new LongAdder()).add(revenue);
+			if (item.category != null) {
+				qtyByCategory.get(item.category).add(qty);
+				revenueByCategory.get(item.category).add(revenue);
+			}
+		}
+	}
+}
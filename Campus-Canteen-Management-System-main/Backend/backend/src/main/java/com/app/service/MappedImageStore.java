@@ -0,0 +1,365 @@
+package com.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.dto.ImageSize;
+import com.app.dto.ItemImageDTO;
+import com.app.repository.ItemImageRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The picture renditions, kept outside the Java heap in one append-only pack
+ * file (items.image.dir/images-<generation>.pack) that is memory-mapped and
+ * indexed by (item id, size) -> (offset, length).
+ *
+ * A record is a fixed header (item id, size, content hash, length) followed
+ * by the bytes, so the index is rebuilt by scanning the pack at startup. A
+ * new picture is appended and the index moves to it; the old record stays
+ * in the file as garbage until compaction copies the live records into the
+ * next generation. The previous pack is kept until the compaction after, so
+ * a response still reading it is never cut off.
+ *
+ * Readers get a slice of the mapping: sendfile sends it by file offset, and
+ * other writers stream it through a small buffer. Heap use does not grow
+ * with the catalog; item_images remains the source of truth and the pack is
+ * a cache that may be deleted at any time.
+ */
+@Slf4j
+@Component
+public class MappedImageStore {
+
+	private static final String PREFIX = "images-";
+	private static final String SUFFIX = ".pack";
+	private static final int HASH_LENGTH = 64;
+	// item id, size, sha256 (hex), content length
+	private static final int HEADER = Long.BYTES + 1 + HASH_LENGTH + Integer.BYTES;
+
+	private final ItemImageRepository imageRepo;
+
+	@Value("${items.image.dir:${java.io.tmpdir}/cms-item-images}")
+	private String dir;
+
+	// Compact once this share of the pack is replaced pictures
+	@Value("${items.image.compact-garbage-ratio:0.5}")
+	private double compactGarbageRatio;
+
+	private Path root;
+	private volatile Pack pack;
+	// Kept open until the next compaction for responses still reading it
+	private Pack retired;
+
+	public MappedImageStore(ItemImageRepository imageRepo) {
+		this.imageRepo = imageRepo;
+	}
+
+	@PostConstruct
+	public void open() throws IOException {
+		root = Files.createDirectories(Paths.get(dir));
+		List<Path> packs;
+		try (Stream<Path> files = Files.list(root)) {
+			packs = files.filter(file -> generationOf(file) >= 0)
+					.sorted(Comparator.comparingLong(MappedImageStore::generationOf))
+					.collect(Collectors.toList());
+		}
+		if (packs.isEmpty()) {
+			pack = Pack.create(root, 1);
+			return;
+		}
+		Path newest = packs.get(packs.size() - 1);
+		for (Path old : packs.subList(0, packs.size() - 1)) {
+			Files.deleteIfExists(old);
+		}
+		pack = Pack.load(newest, generationOf(newest));
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		pack.close();
+		if (retired != null) {
+			retired.close();
+		}
+	}
+
+	// ================= READ =================
+
+	/**
+	 * @return the stored rendition of the item, or empty when there is none or
+	 *         it belongs to an older picture than sha256
+	 */
+	public Optional<Region> find(Long itemId, String sha256, ImageSize size) {
+		Pack current = pack;
+		// Slot before mapping: a slot is only published once the mapping covers it
+		Slot slot = current.index.get(new Key(itemId, size));
+		if (slot == null || !slot.sha256().equals(sha256)) {
+			return Optional.empty();
+		}
+		ByteBuffer data = current.map.slice((int) slot.offset(), slot.length());
+		return Optional.of(new Region(current.file, slot.offset(), slot.length(), data));
+	}
+
+	// ================= WRITE =================
+
+	public synchronized void put(Long itemId, String sha256, ImageSize size, byte[] content) {
+		Key key = new Key(itemId, size);
+		Slot existing = pack.index.get(key);
+		if (existing != null && existing.sha256().equals(sha256)) {
+			return;
+		}
+		try {
+			pack.append(key, sha256, ByteBuffer.wrap(content));
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not store image " + sha256, e);
+		}
+	}
+
+	// ================= COMPACTION =================
+
+	@Scheduled(fixedDelayString = "${items.image.compact-ms:3600000}")
+	public void compactIfWasteful() {
+		boolean wasteful;
+		synchronized (this) {
+			wasteful = pack.size > 0 && (double) pack.garbage / pack.size >= compactGarbageRatio;
+		}
+		if (wasteful) {
+			compact();
+		}
+	}
+
+	/**
+	 * Copies the records still in use (the current picture of an existing
+	 * item) into a new pack and switches to it. Pictures of deleted items and
+	 * replaced pictures are left behind.
+	 */
+	public void compact() {
+		Map<Long, String> currentHashes = imageRepo.findAllInfo().stream()
+				.collect(Collectors.toMap(ItemImageDTO::getItemId, ItemImageDTO::getSha256));
+		synchronized (this) {
+			Pack old = pack;
+			try {
+				Pack fresh = Pack.create(root, old.generation + 1);
+				for (Map.Entry<Key, Slot> entry : old.index.entrySet()) {
+					Slot slot = entry.getValue();
+					if (slot.sha256().equals(currentHashes.get(entry.getKey().itemId()))) {
+						fresh.append(entry.getKey(), slot.sha256(), old.map.slice((int) slot.offset(), slot.length()));
+					}
+				}
+				pack = fresh;
+			} catch (IOException e) {
+				log.warn("Image pack compaction failed", e);
+				return;
+			}
+			if (retired != null) {
+				retired.delete();
+			}
+			retired = old;
+		}
+	}
+
+	private static long generationOf(Path file) {
+		String name = file.getFileName().toString();
+		if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Bytes of a rendition inside the pack file: file/offset/length for
+	 * sendfile, data for everything else.
+	 */
+	public record Region(Path file, long offset, int length, ByteBuffer data) {
+
+		// A body that reads the mapping in the converter's own small buffer
+		public Resource asResource() {
+			return new AbstractResource() {
+				@Override
+				public String getDescription() {
+					return "image region " + file + "@" + offset;
+				}
+
+				@Override
+				public long contentLength() {
+					return length;
+				}
+
+				@Override
+				public InputStream getInputStream() {
+					return new ByteBufferInputStream(data.duplicate());
+				}
+			};
+		}
+	}
+
+	private record Key(Long itemId, ImageSize size) {
+	}
+
+	private record Slot(String sha256, long offset, int length) {
+	}
+
+	private static final class Pack {
+		final long generation;
+		final Path file;
+		final FileChannel channel;
+		final Map<Key, Slot> index = new ConcurrentHashMap<>();
+		// Remapped after every append; volatile so readers see the mapping before the slot
+		volatile MappedByteBuffer map;
+		long size;
+		long garbage;
+
+		private Pack(long generation, Path file, FileChannel channel) {
+			this.generation = generation;
+			this.file = file;
+			this.channel = channel;
+		}
+
+		static Pack create(Path root, long generation) throws IOException {
+			Path file = root.resolve(PREFIX + generation + SUFFIX);
+			Pack pack = new Pack(generation, file, FileChannel.open(file, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE));
+			pack.remap();
+			return pack;
+		}
+
+		// Rebuilds the index; a record cut short by a crash ends the pack
+		static Pack load(Path file, long generation) throws IOException {
+			Pack pack = new Pack(generation, file,
+					FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+			long length = pack.channel.size();
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			long position = 0;
+			while (position + HEADER <= length) {
+				header.clear();
+				pack.channel.read(header, position);
+				header.flip();
+				long itemId = header.getLong();
+				int ordinal = header.get();
+				byte[] hash = new byte[HASH_LENGTH];
+				header.get(hash);
+				int contentLength = header.getInt();
+				if (ordinal < 0 || ordinal >= ImageSize.values().length || contentLength < 0
+						|| position + HEADER + contentLength > length) {
+					break;
+				}
+				pack.index(new Key(itemId, ImageSize.values()[ordinal]),
+						new Slot(new String(hash, StandardCharsets.US_ASCII), position + HEADER, contentLength));
+				position += HEADER + contentLength;
+			}
+			pack.channel.truncate(position);
+			pack.size = position;
+			pack.remap();
+			return pack;
+		}
+
+		void append(Key key, String sha256, ByteBuffer content) throws IOException {
+			int contentLength = content.remaining();
+			if (size + HEADER + contentLength > Integer.MAX_VALUE) {
+				// One mapping addresses 2 GB; compaction keeps the pack near the live size
+				throw new IOException("Image pack is full");
+			}
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			header.putLong(key.itemId());
+			header.put((byte) key.size().ordinal());
+			header.put(sha256.getBytes(StandardCharsets.US_ASCII));
+			header.putInt(contentLength);
+			header.flip();
+			long position = size;
+			long written = 0;
+			while (header.hasRemaining()) {
+				written += channel.write(header, position + written);
+			}
+			while (content.hasRemaining()) {
+				written += channel.write(content, position + written);
+			}
+			size = position + written;
+			remap();
+			index(key, new Slot(sha256, position + HEADER, contentLength));
+		}
+
+		private void index(Key key, Slot slot) {
+			Slot previous = index.put(key, slot);
+			if (previous != null) {
+				garbage += HEADER + previous.length();
+			}
+		}
+
+		private void remap() throws IOException {
+			map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+
+		void close() {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// nothing left to release
+			}
+		}
+
+		// The mapping stays valid for readers still holding a slice
+		void delete() {
+			close();
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				log.warn("Could not delete old image pack {}", file, e);
+			}
+		}
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] target, int offset, int length) {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(target, offset, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
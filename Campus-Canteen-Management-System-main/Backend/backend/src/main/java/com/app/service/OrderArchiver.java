@@ -0,0 +1,164 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.repository.OrderArchiveRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves SERVED orders older than the retention window (and their cart lines)
+ * from orders / carts into orders_archive / carts_archive.
+ *
+ * Each chunk of orders is locked, copied and deleted in its own short
+ * transaction, so the hot tables are never locked for the whole run and a
+ * failed run simply resumes with the next one. Before moving anything, the
+ * monthly partitions the moved rows fall into are split off p_future.
+ *
+ * The archive only has to be read for history older than getArchivedUpTo(),
+ * see OrderServiceImpl.
+ */
+@Slf4j
+@Component
+public class OrderArchiver {
+
+	private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final OrderArchiveRepository archiveRepository;
+
+	@Value("${orders.archive.retention-days:120}")
+	private int retentionDays;
+
+	@Value("${orders.archive.chunk-size:500}")
+	private int chunkSize;
+
+	// Newest order time in the archive, null while it is empty
+	private volatile LocalDateTime archivedUpTo;
+
+	public OrderArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			OrderArchiveRepository archiveRepository) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.archiveRepository = archiveRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadArchivedUpTo() {
+		archivedUpTo = archiveRepository.findNewestTime();
+	}
+
+	public LocalDateTime getArchivedUpTo() {
+		return archivedUpTo;
+	}
+
+	/**
+	 * @return number of orders moved to the archive
+	 */
+	public int archive() {
+		LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+		addMonthlyPartitions(cutoff);
+
+		int moved = 0;
+		int chunk;
+		do {
+			chunk = transactionTemplate.execute(status -> moveChunk(cutoff));
+			moved += chunk;
+		} while (chunk == chunkSize);
+
+		// Also picks up what other instances archived
+		archivedUpTo = archiveRepository.findNewestTime();
+		return moved;
+	}
+
+	private int moveChunk(LocalDateTime cutoff) {
+		// Oldest first along idx_orders_status_time; the lock keeps status changes out
+		List<Long> orderIds = jdbcTemplate.queryForList(
+				"select order_id from orders where order_status = 'SERVED' and time < :cutoff"
+						+ " order by time, order_id limit :limit for update",
+				Map.of("cutoff", cutoff, "limit", chunkSize), Long.class);
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+		Map<String, Object> ids = Map.of("orderIds", orderIds);
+		jdbcTemplate.update("insert into orders_archive (order_id, time, quantity, payment_method, amount,"
+				+ " transaction_id, items_served, is_served, order_status, discount_percentage, student_id)"
+				+ " select order_id, time, quantity, payment_method, amount, transaction_id, items_served,"
+				+ " is_served, order_status, discount_percentage, student_id from orders"
+				+ " where order_id in (:orderIds)", ids);
+		jdbcTemplate.update("insert into carts_archive (cart_id, order_id, item_id, qty_ordered, net_price, order_time)"
+				+ " select c.cart_id, c.order_id, c.item_id, c.qty_ordered, c.net_price, o.time"
+				+ " from carts c join orders o on o.order_id = c.order_id"
+				+ " where c.order_id in (:orderIds)", ids);
+		jdbcTemplate.update("delete from carts where order_id in (:orderIds)", ids);
+		jdbcTemplate.update("delete from orders where order_id in (:orderIds)", ids);
+		return orderIds.size();
+	}
+
+	// ================= PARTITIONS =================
+
+	// Splits one partition per month, up to the cutoff's month, off p_future
+	private void addMonthlyPartitions(LocalDateTime cutoff) {
+		YearMonth from = nextPartitionMonth();
+		if (from == null) {
+			// No monthly partitions yet: start at the oldest order to be archived
+			LocalDateTime oldest = jdbcTemplate.queryForObject(
+					"select min(time) from orders where order_status = 'SERVED' and time < :cutoff",
+					Map.of("cutoff", cutoff), LocalDateTime.class);
+			if (oldest == null) {
+				return;
+			}
+			from = YearMonth.from(oldest);
+		}
+		YearMonth to = YearMonth.from(cutoff);
+		if (from.isAfter(to)) {
+			return;
+		}
+		StringBuilder partitions = new StringBuilder();
+		for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+			partitions.append("partition p").append(month.format(PARTITION_MONTH))
+					.append(" values less than (to_days('").append(month.plusMonths(1).atDay(1)).append("')), ");
+		}
+		partitions.append("partition p_future values less than maxvalue");
+		try {
+			// DDL commits implicitly, so it runs outside the chunk transactions
+			for (String table : List.of("orders_archive", "carts_archive")) {
+				jdbcTemplate.getJdbcTemplate().execute(
+						"alter table " + table + " reorganize partition p_future into (" + partitions + ")");
+			}
+		} catch (RuntimeException e) {
+			// Another instance may have split the same months first; rows that land in
+			// p_future are moved into their month by the next successful split
+			log.warn("Could not add order archive partitions for {} to {}", from, to, e);
+		}
+	}
+
+	// Month after the newest monthly partition of orders_archive, or null if there is none
+	private YearMonth nextPartitionMonth() {
+		List<String> names = jdbcTemplate.queryForList(
+				"select partition_name from information_schema.partitions"
+						+ " where table_schema = database() and table_name = 'orders_archive'"
+						+ " and partition_name <> 'p_future'",
+				Map.of(), String.class);
+		return names.stream()
+				.map(name -> YearMonth.parse(name.substring(1), PARTITION_MONTH))
+				.max(YearMonth::compareTo)
+				.map(month -> month.plusMonths(1))
+				.orElse(null);
+	}
+}
@@ -0,0 +1,269 @@
+package com.app.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.entities.OrderStatus;
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+import com.app.events.OrderStatusBatchEvent;
+
+/**
+ * Pushes committed order events to the kitchen screens over Server-Sent
+ * Events (GET /orders/stream).
+ *
+ * Every event gets an increasing id and is kept in a small replay buffer,
+ * so a screen that reconnects with Last-Event-ID receives what it missed.
+ * Ids are "<epoch>-<sequence>" with an epoch drawn at startup: an id from
+ * before a restart or from another instance has a different epoch and the
+ * sequence alone would mean nothing. If the screen fell too far behind, or
+ * its id is not from this run, it gets a RESYNC event and should reload the
+ * pending list. Each subscriber has a bounded queue drained by a small
+ * sender pool. The committing thread never blocks on a slow connection, and
+ * a subscriber whose queue overflows is disconnected (it can reconnect and
+ * resume).
+ */
+@Component
+public class OrderEventBroadcaster {
+
+	@Value("${orders.stream.replay-size:256}")
+	private int replaySize;
+
+	@Value("${orders.stream.subscriber-buffer:64}")
+	private int subscriberBuffer;
+
+	@Value("${orders.stream.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final ExecutorService senders = Executors.newFixedThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "order-stream-sender");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Guarded by "this": ids, the replay buffer and fan-out stay in one order
+	private final Deque<Envelope> replay = new ArrayDeque<>();
+	private long lastId;
+
+	private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderEvent(OrderEvent event) {
+		publish(event.type().name(), event.order());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onOrderStatusBatch(OrderStatusBatchEvent event) {
+		publish(OrderEventType.ORDERS_STATUS_CHANGED.name(),
+				new StatusBatch(event.status(), event.previousStatusById().keySet()));
+	}
+
+	// ================= SUBSCRIBE =================
+
+	/**
+	 * @param lastEventId id of the last event the client saw, or null for a
+	 *                    fresh connection (no replay)
+	 */
+	public SseEmitter subscribe(String lastEventId) {
+		Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), new ArrayBlockingQueue<>(subscriberBuffer));
+		subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+		synchronized (this) {
+			if (lastEventId != null) {
+				List<Envelope> missed = missedSince(lastEventId);
+				if (missed == null) {
+					subscriber.queue.offer(Envelope.resync(lastId));
+				} else {
+					// Anything that does not fit is left to a RESYNC
+					for (Envelope envelope : missed) {
+						if (!subscriber.queue.offer(envelope)) {
+							subscriber.queue.clear();
+							subscriber.queue.offer(Envelope.resync(lastId));
+							break;
+						}
+					}
+				}
+			}
+			subscribers.add(subscriber);
+		}
+		schedule(subscriber);
+		return subscriber.emitter;
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	// ================= PUBLISH =================
+
+	private void publish(String name, Object data) {
+		List<Subscriber> targets;
+		synchronized (this) {
+			Envelope envelope = new Envelope(++lastId, name, data);
+			replay.addLast(envelope);
+			if (replay.size() > replaySize) {
+				replay.removeFirst();
+			}
+			targets = new ArrayList<>(subscribers);
+			for (Subscriber subscriber : targets) {
+				if (!subscriber.queue.offer(envelope)) {
+					evict(subscriber);
+				}
+			}
+		}
+		for (Subscriber subscriber : targets) {
+			schedule(subscriber);
+		}
+	}
+
+	// Keeps idle connections open through proxies and detects closed ones
+	@Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:15000}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			if (subscriber.queue.offer(Envelope.HEARTBEAT)) {
+				schedule(subscriber);
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		senders.shutdownNow();
+		for (Subscriber subscriber : subscribers) {
+			subscriber.emitter.complete();
+		}
+	}
+
+	// ================= DELIVERY =================
+
+	// null when lastEventId is not from this run or older than the replay buffer
+	private List<Envelope> missedSince(String lastEventId) {
+		long sequence = sequenceOf(lastEventId);
+		if (sequence < 0 || sequence > lastId) {
+			return null;
+		}
+		if (sequence == lastId) {
+			return List.of();
+		}
+		if (replay.isEmpty() || replay.peekFirst().id() > sequence + 1) {
+			return null;
+		}
+		List<Envelope> missed = new ArrayList<>();
+		for (Envelope envelope : replay) {
+			if (envelope.id() > sequence) {
+				missed.add(envelope);
+			}
+		}
+		return missed;
+	}
+
+	// -1 unless the id is "<epoch>-<sequence>" with this run's epoch
+	private long sequenceOf(String eventId) {
+		int dash = eventId.indexOf('-');
+		if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(eventId.substring(dash + 1));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	// Called under "this": completing the emitter can block on the connection, so a sender does it
+	private void evict(Subscriber subscriber) {
+		subscribers.remove(subscriber);
+		subscriber.queue.clear();
+		subscriber.evicted = true;
+	}
+
+	// At most one sender drains a subscriber at a time, so its events stay in order
+	private void schedule(Subscriber subscriber) {
+		boolean work = subscriber.evicted ? !subscriber.closed : !subscriber.queue.isEmpty();
+		if (work && subscriber.draining.compareAndSet(false, true)) {
+			try {
+				senders.execute(() -> drain(subscriber));
+			} catch (RuntimeException e) {
+				subscriber.draining.set(false);
+			}
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			Envelope envelope;
+			while (!subscriber.evicted && (envelope = subscriber.queue.poll()) != null) {
+				if (envelope == Envelope.HEARTBEAT) {
+					subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+				} else {
+					subscriber.emitter.send(SseEmitter.event()
+							.id(epoch + "-" + envelope.id())
+							.name(envelope.name())
+							.data(envelope.data() == null ? "" : envelope.data()));
+				}
+			}
+			if (subscriber.evicted) {
+				subscriber.closed = true;
+				subscriber.emitter.complete();
+				return;
+			}
+		} catch (IOException | IllegalStateException e) {
+			// Client went away (or the emitter already completed)
+			subscribers.remove(subscriber);
+			subscriber.queue.clear();
+		} finally {
+			subscriber.draining.set(false);
+		}
+		schedule(subscriber);
+	}
+
+	// Payload of ORDERS_STATUS_CHANGED
+	private record StatusBatch(OrderStatus orderStatus, Collection<Long> orderIds) {
+	}
+
+	private static final class Subscriber {
+		final SseEmitter emitter;
+		final BlockingQueue<Envelope> queue;
+		final AtomicBoolean draining = new AtomicBoolean();
+		// Set under "this" by publish when the queue overflowed; closed once a sender completed the emitter
+		volatile boolean evicted;
+		volatile boolean closed;
+
+		Subscriber(SseEmitter emitter, BlockingQueue<Envelope> queue) {
+			this.emitter = emitter;
+			this.queue = queue;
+		}
+	}
+
+	private record Envelope(long id, String name, Object data) {
+		static final Envelope HEARTBEAT = new Envelope(0, null, null);
+
+		static Envelope resync(long lastId) {
+			return new Envelope(lastId, "RESYNC", null);
+		}
+	}
+}
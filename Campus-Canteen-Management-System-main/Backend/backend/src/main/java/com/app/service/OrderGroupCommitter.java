@@ -0,0 +1,202 @@
+package com.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.CreateOrderDTO;
+import com.app.dto.PlaceOrderRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional group-commit intake for order placement
+ * (orders.group-commit.enabled=true).
+ *
+ * Requests are queued and a single committer thread drains up to maxBatch
+ * orders, or whatever arrived within maxWaitMs, into one transaction. The
+ * lunch-rush burst then pays one commit (one redo-log fsync) per batch
+ * instead of one per order. Each order is placed and validated on its own via
+ * OrderPlacement. A refused order fails only its own future, and the others
+ * complete once the shared transaction has committed. If the shared
+ * transaction is known to have rolled back, its orders are placed again one
+ * per transaction, so one bad order never fails the others. A failure of the
+ * commit itself is ambiguous (the server may have committed before the
+ * connection dropped), so those orders fail instead of risking a second
+ * debit.
+ */
+@Slf4j
+@Component
+public class OrderGroupCommitter {
+
+	private final OrderPlacement orderPlacement;
+	private final OrderService orderService;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${orders.group-commit.enabled:false}")
+	private boolean enabled;
+
+	@Value("${orders.group-commit.max-batch:32}")
+	private int maxBatch;
+
+	@Value("${orders.group-commit.max-wait-ms:5}")
+	private long maxWaitMs;
+
+	@Value("${orders.group-commit.queue-capacity:1000}")
+	private int queueCapacity;
+
+	private BlockingQueue<PendingOrder> queue;
+	private Thread committer;
+	private volatile boolean running;
+
+	public OrderGroupCommitter(OrderPlacement orderPlacement, OrderService orderService,
+			PlatformTransactionManager transactionManager) {
+		this.orderPlacement = orderPlacement;
+		this.orderService = orderService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		running = true;
+		committer = new Thread(this::drainLoop, "order-group-committer");
+		committer.setDaemon(true);
+		committer.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (committer == null) {
+			return;
+		}
+		running = false;
+		committer.interrupt();
+		committer.join(TimeUnit.SECONDS.toMillis(5));
+		PendingOrder left;
+		while ((left = queue.poll()) != null) {
+			left.future.completeExceptionally(new IllegalStateException("Server is shutting down, please retry"));
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Queues the order for the next batch. When the queue is full, the order
+	 * is placed directly on the caller's thread, in its own transaction.
+	 */
+	public CompletableFuture<CreateOrderDTO> submit(Long studentId, PlaceOrderRequest request) {
+		PendingOrder pending = new PendingOrder(studentId, request, new CompletableFuture<>());
+		if (!running || !queue.offer(pending)) {
+			try {
+				pending.future.complete(orderService.placeOrder(studentId, request));
+			} catch (RuntimeException e) {
+				pending.future.completeExceptionally(e);
+			}
+		}
+		return pending.future;
+	}
+
+	// ================= COMMITTER THREAD =================
+
+	private void drainLoop() {
+		List<PendingOrder> batch = new ArrayList<>(maxBatch);
+		while (running) {
+			try {
+				PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+				while (batch.size() < maxBatch) {
+					PendingOrder next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+			if (!batch.isEmpty()) {
+				commit(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void commit(List<PendingOrder> batch) {
+		CreateOrderDTO[] results = new CreateOrderDTO[batch.size()];
+		RuntimeException[] failures = new RuntimeException[batch.size()];
+		boolean[] flushed = new boolean[1];
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int i = 0; i < batch.size(); i++) {
+					PendingOrder pending = batch.get(i);
+					try {
+						results[i] = orderPlacement.place(pending.studentId, pending.request);
+					} catch (OrderPlacement.OrderAbortedException e) {
+						// This order's writes are still in the transaction: drop the whole batch
+						throw e;
+					} catch (RuntimeException e) {
+						// OrderPlacement has already undone this order's writes
+						failures[i] = e;
+					}
+				}
+				// Constraint violations surface here, where they still roll the batch back
+				status.flush();
+				flushed[0] = true;
+			});
+		} catch (RuntimeException e) {
+			if (flushed[0] && !(e instanceof UnexpectedRollbackException)) {
+				// Failed in commit: the batch may or may not be stored, so nothing is retried
+				log.error("Commit of {} grouped orders failed with an unknown outcome", batch.size(), e);
+				for (PendingOrder pending : batch) {
+					pending.future.completeExceptionally(new IllegalStateException(
+							"Your order could not be confirmed. Please check your orders before ordering again.", e));
+				}
+				return;
+			}
+			// Rolled back, nothing of this batch was stored: place its orders one by one instead
+			log.warn("Group commit of {} orders rolled back, placing them one by one", batch.size(), e);
+			for (PendingOrder pending : batch) {
+				try {
+					pending.future.complete(orderService.placeOrder(pending.studentId, pending.request));
+				} catch (RuntimeException failure) {
+					pending.future.completeExceptionally(failure);
+				}
+			}
+			return;
+		}
+		for (int i = 0; i < batch.size(); i++) {
+			if (failures[i] != null) {
+				batch.get(i).future.completeExceptionally(failures[i]);
+			} else {
+				batch.get(i).future.complete(results[i]);
+			}
+		}
+	}
+
+	private record PendingOrder(Long studentId, PlaceOrderRequest request,
+			CompletableFuture<CreateOrderDTO> future) {
+	}
+}
@@ -0,0 +1,248 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.app.dto.CartItem;
+import com.app.dto.CreateOrderDTO;
+import com.app.dto.OrderDTO;
+import com.app.dto.PlaceOrderRequest;
+import com.app.entities.Cart;
+import com.app.entities.ItemDaily;
+import com.app.entities.ItemMaster;
+import com.app.entities.Order;
+import com.app.entities.OrderStatus;
+import com.app.entities.Student;
+import com.app.entities.WalletEntryType;
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+import com.app.exceptions.ResourceNotFoundException;
+import com.app.mapper.DtoMapper;
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.OrderRepository;
+import com.app.repository.StudentRepository;
+
+/**
+ * Places one order inside the caller's transaction.
+ *
+ * Deliberately not @Transactional: OrderServiceImpl runs it in its own
+ * transaction, and OrderGroupCommitter runs several orders in one shared
+ * transaction. When an order fails at any point after the wallet debit, the
+ * writes it already made are reverted before the exception is thrown, so the
+ * shared transaction can still commit the other orders of the batch. If that
+ * undo fails as well, OrderAbortedException tells the caller to roll back.
+ */
+@Component
+public class OrderPlacement {
+
+	private final OrderRepository orderRepository;
+	private final StudentRepository studRepo;
+	private final ItemMasterRepository itemMasterRepo;
+	private final ItemDailyRepository itemDailyRepo;
+	private final TodayStockLedger stockLedger;
+	private final WalletLedgerService walletLedgerService;
+	private final TransactionIdGenerator transactionIdGenerator;
+	private final DtoMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final SalesService salesService;
+
+	public OrderPlacement(OrderRepository orderRepository,
+			StudentRepository studRepo,
+			ItemMasterRepository itemMasterRepo,
+			ItemDailyRepository itemDailyRepo,
+			TodayStockLedger stockLedger,
+			WalletLedgerService walletLedgerService,
+			TransactionIdGenerator transactionIdGenerator,
+			DtoMapper mapper,
+			ApplicationEventPublisher eventPublisher,
+			SalesService salesService) {
+		this.orderRepository = orderRepository;
+		this.studRepo = studRepo;
+		this.itemMasterRepo = itemMasterRepo;
+		this.itemDailyRepo = itemDailyRepo;
+		this.stockLedger = stockLedger;
+		this.walletLedgerService = walletLedgerService;
+		this.transactionIdGenerator = transactionIdGenerator;
+		this.mapper = mapper;
+		this.eventPublisher = eventPublisher;
+		this.salesService = salesService;
+	}
+
+	public CreateOrderDTO place(Long studentId, PlaceOrderRequest request) {
+		if (studentId == null) {
+			throw new ResourceNotFoundException("Student ID cannot be null");
+		}
+		Student student = studRepo.findById(studentId)
+				.orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+
+		if (request.getItems() == null || request.getItems().isEmpty()) {
+			throw new IllegalStateException("Cannot place an empty order");
+		}
+
+		Order order = new Order();
+		order.setStudent(student);
+		order.setTime(LocalDateTime.now()); // Set order timestamp
+
+		// Payment configuration
+		String paymentMethod = "WALLET"; // Default to wallet payment
+		order.setPaymentMethod(paymentMethod);
+		order.setTransactionId(transactionIdGenerator.nextTransactionId());
+
+		order.setItemsServed(0);
+		order.setDiscountPercentage(0);
+
+		// All orders start as PENDING (matches database schema)
+		order.setOrderStatus(OrderStatus.PENDING);
+		order.setIsServed(false);
+
+		LocalDate today = LocalDate.now();
+
+		// Load today's menu entry (with its ItemMaster) for every item in the cart in
+		// one query, instead of two lookups per cart line
+		Set<Long> itemIds = request.getItems().stream()
+				.map(CartItem::getItemId)
+				.collect(Collectors.toSet());
+		Map<Long, ItemDaily> todaysMenu = itemDailyRepo.findByDateAndItemIdIn(today, itemIds)
+				.stream()
+				.collect(Collectors.toMap(daily -> daily.getItem().getId(), daily -> daily));
+
+		// Validate the whole cart against that snapshot before writing anything.
+		// Quantities are summed per item so duplicate lines are checked together.
+		// TreeMap keeps item ids sorted: rows are locked in the same order by every order.
+		// Prices come from item_master, not from the client, since the wallet is debited.
+		Map<Long, Integer> qtyByItem = new TreeMap<>();
+		Map<Long, Integer> revenueByItem = new TreeMap<>();
+		int totalQty = 0;
+		int totalAmount = 0;
+		for (CartItem cartItem : request.getItems()) {
+			ItemDaily dailyItem = todaysMenu.get(cartItem.getItemId());
+			if (dailyItem == null) {
+				if (!itemMasterRepo.existsById(cartItem.getItemId())) {
+					throw new ResourceNotFoundException("Invalid Item ID: " + cartItem.getItemId());
+				}
+				throw new IllegalStateException("Item not available in today's menu: " + cartItem.getItemId());
+			}
+			if (cartItem.getQtyOrdered() <= 0) {
+				throw new IllegalStateException("Invalid quantity for item: " + dailyItem.getItem().getItemName());
+			}
+			qtyByItem.merge(cartItem.getItemId(), cartItem.getQtyOrdered(), Integer::sum);
+			totalQty += cartItem.getQtyOrdered();
+			revenueByItem.merge(cartItem.getItemId(), cartItem.getQtyOrdered() * dailyItem.getItem().getItemPrice(),
+					Integer::sum);
+			totalAmount += cartItem.getQtyOrdered() * dailyItem.getItem().getItemPrice();
+		}
+		order.setQty(totalQty);
+		order.setAmount(totalAmount);
+
+		// Reject sold-out items from the in-memory ledger before queueing on the
+		// item_daily row locks
+		TodayStockLedger.Reservation reservation = stockLedger.tryReserve(qtyByItem);
+		Long soldOutItemId = reservation.getSoldOutItemId();
+		if (soldOutItemId != null) {
+			throw new IllegalStateException(
+					"Insufficient daily stock for item: " + todaysMenu.get(soldOutItemId).getItem().getItemName() +
+							". Available: " + stockLedger.getRemaining(soldOutItemId) +
+							", Requested: " + qtyByItem.get(soldOutItemId));
+		}
+
+		Map<Long, Integer> reservedInDb = new TreeMap<>();
+		boolean debited = false;
+		boolean saved = false;
+		boolean saleRecorded = false;
+		try {
+			// Debit the wallet with one conditional UPDATE (balance >= amount) in the same
+			// transaction as the stock decrement
+			if (totalAmount > 0) {
+				if (studRepo.debitBalance(studentId, totalAmount) == 0) {
+					throw new IllegalStateException(
+							"Insufficient wallet balance. Available: " + student.getBalance() + ", Required: " + totalAmount);
+				}
+				debited = true;
+			}
+
+			// Reserve daily stock with a single conditional UPDATE per item on item_daily
+			// (sold_qty + ordered <= init_qty), so concurrent orders can never oversell
+			for (Map.Entry<Long, Integer> entry : qtyByItem.entrySet()) {
+				ItemDaily dailyItem = todaysMenu.get(entry.getKey());
+				int orderedQty = entry.getValue();
+				if (orderedQty > dailyItem.getAvailableQty()
+						|| itemDailyRepo.reserveStock(entry.getKey(), today, orderedQty) == 0) {
+					throw new IllegalStateException(
+							"Insufficient daily stock for item: " + dailyItem.getItem().getItemName() +
+									". Available: " + dailyItem.getAvailableQty() + ", Requested: " + orderedQty);
+				}
+				reservedInDb.put(entry.getKey(), orderedQty);
+			}
+
+			// Create cart entities
+			for (CartItem cartItem : request.getItems()) {
+				ItemMaster itemMaster = todaysMenu.get(cartItem.getItemId()).getItem();
+				Cart cartEntity = new Cart();
+				cartEntity.setQtyOrdered(cartItem.getQtyOrdered());
+				cartEntity.setNetPrice(cartItem.getQtyOrdered() * itemMaster.getItemPrice());
+				cartEntity.setOrder(order);
+				cartEntity.setItem(itemMaster);
+				order.getCartList().add(cartEntity);
+			}
+
+			orderRepository.save(order);
+			saved = true;
+			OrderDTO placed = mapper.toOrderDTO(order);
+			CreateOrderDTO created = mapper.toCreateOrderDTO(order);
+			salesService.recordSale(order.getTime().toLocalDate(), qtyByItem, revenueByItem);
+			saleRecorded = true;
+			// Last write: nothing after it can fail and leave it to be undone
+			walletLedgerService.recordEntry(studentId, -totalAmount, WalletEntryType.ORDER, order.getOrderId());
+			// Delivered to the kitchen screens once the transaction commits
+			eventPublisher.publishEvent(new OrderEvent(OrderEventType.ORDER_PLACED, placed, null));
+			// From here on the reservation only has to be handed back if the transaction rolls back
+			stockLedger.releaseOnRollback(reservation);
+			return created;
+		} catch (RuntimeException e) {
+			// Undo this order's own writes, so a shared transaction stays consistent
+			try {
+				if (saleRecorded) {
+					salesService.recordSale(order.getTime().toLocalDate(), negate(qtyByItem), negate(revenueByItem));
+				}
+				if (saved) {
+					// Removes the order and its carts whether their inserts were already flushed or are still pending
+					orderRepository.delete(order);
+				}
+				reservedInDb.forEach((itemId, qty) -> itemDailyRepo.releaseStock(itemId, today, qty));
+				if (debited) {
+					studRepo.creditBalance(studentId, totalAmount);
+				}
+			} catch (RuntimeException undoFailure) {
+				e.addSuppressed(undoFailure);
+				throw new OrderAbortedException(e);
+			} finally {
+				stockLedger.release(reservation);
+			}
+			throw e;
+		}
+	}
+
+	private static Map<Long, Integer> negate(Map<Long, Integer> amounts) {
+		Map<Long, Integer> negated = new TreeMap<>();
+		amounts.forEach((key, value) -> negated.put(key, -value));
+		return negated;
+	}
+
+	/**
+	 * The order could not be placed and its writes could not be undone either:
+	 * the surrounding transaction must roll back as a whole.
+	 */
+	public static class OrderAbortedException extends RuntimeException {
+		OrderAbortedException(RuntimeException cause) {
+			super(cause.getMessage(), cause);
+		}
+	}
+}
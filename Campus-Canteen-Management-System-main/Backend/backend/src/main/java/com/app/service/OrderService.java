@@ -2,25 +2,38 @@ package com.app.service;
 
 import java.util.List;
 
+import com.app.dto.BulkStatusUpdateDTO;
 import com.app.dto.CreateOrderDTO;
 import com.app.dto.OrderDTO;
+import com.app.dto.OrderPageDTO;
 import com.app.dto.PlaceOrderRequest;
+import com.app.dto.QueuePositionDTO;
 import com.app.entities.Order;
 import com.app.entities.OrderStatus;
 
 public interface OrderService {
     List<OrderDTO> getOrdersByStatus(OrderStatus orderStatus);
 
+    // after is the nextCursor of the previous page, or null for the first page
+    OrderPageDTO getOrderPageByStatus(OrderStatus orderStatus, String after, int limit);
+
     OrderDTO createOrder(OrderDTO dto);
 
     OrderDTO getOrderById(Long orderId);
 
     List<OrderDTO> getAllOrdersByStudentId(Long StudentId);
 
+    OrderPageDTO getOrderPageByStudentId(Long studentId, String after, int limit);
+
     Long getCountOfOrdersByStatus(OrderStatus orderStatus);
 
+    // Place of a PENDING order in the kitchen queue (arrival order)
+    QueuePositionDTO getQueuePosition(Long orderId);
+
     CreateOrderDTO placeOrder(Long studentId, PlaceOrderRequest request);
 
     OrderDTO updateOrderStatus(Long orderId, OrderStatus status);
 
+    BulkStatusUpdateDTO updateOrderStatuses(List<Long> orderIds, OrderStatus status);
+
 }
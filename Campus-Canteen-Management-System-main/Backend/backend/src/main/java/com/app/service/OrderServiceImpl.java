@@ -1,31 +1,40 @@
 package com.app.service;
 
 import java.time.LocalDateTime;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.app.dto.BulkStatusUpdateDTO;
 import com.app.dto.CartDTO;
-import com.app.dto.CartItem;
 import com.app.dto.CreateOrderDTO;
+import com.app.dto.OrderCursor;
 import com.app.dto.OrderDTO;
+import com.app.dto.OrderPageDTO;
 import com.app.dto.PlaceOrderRequest;
-import com.app.entities.Cart;
+import com.app.dto.QueuePositionDTO;
 import com.app.entities.Order;
 import com.app.entities.OrderStatus;
 import com.app.entities.Student;
+import com.app.events.OrderEvent;
+import com.app.events.OrderEventType;
+import com.app.events.OrderStatusBatchEvent;
 import com.app.exceptions.ResourceNotFoundException;
-import com.app.entities.ItemMaster;
-import com.app.entities.ItemDaily;
-import com.app.repository.ItemMasterRepository;
-import com.app.repository.ItemDailyRepository;
+import com.app.mapper.DtoMapper;
+import com.app.repository.CartRepository;
+import com.app.repository.OrderArchiveRepository;
 import com.app.repository.OrderRepository;
 import com.app.repository.StudentRepository;
 
@@ -33,133 +42,157 @@ import com.app.repository.StudentRepository;
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+	// Largest page the paged listings return
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private static final Comparator<OrderDTO> NEWEST_FIRST = Comparator
+			.comparing(OrderDTO::getTime)
+			.thenComparing(OrderDTO::getOrderId)
+			.reversed();
+
 	@Autowired
 	private OrderRepository orderRepository;
 
+	@Autowired
+	private CartRepository cartRepository;
+
 	@Autowired
 	private StudentRepository studRepo;
 
 	@Autowired
-	private ItemMasterRepository itemMasterRepo;
+	private OrderPlacement orderPlacement;
+
+	@Autowired
+	private DtoMapper mapper;
 
 	@Autowired
-	private ItemDailyRepository itemDailyRepo;
+	private ApplicationEventPublisher eventPublisher;
 
 	@Autowired
-	private ModelMapper mapper;
+	private KitchenQueue kitchenQueue;
+
+	@Autowired
+	private OrderArchiveRepository orderArchiveRepository;
+
+	@Autowired
+	private OrderArchiver orderArchiver;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDTO> getOrdersByStatus(OrderStatus orderStatus) {
-		return orderRepository.findByOrderStatus(orderStatus)
-				.stream()
-				.map(order -> {
-					OrderDTO orderDTO = mapper.map(order, OrderDTO.class);
-					if (order.getStudent() != null) {
-						// Set Student information in OrderDTO
-						orderDTO.setStudentId(order.getStudent().getStudentId());
-						orderDTO.setStudentName(order.getStudent().getName());
-
-					}
-					// Map cart items to CartDTO list
-					if (order.getCartList() != null && !order.getCartList().isEmpty()) {
-						orderDTO.setCartList(order.getCartList().stream()
-								.map(cart -> {
-									CartDTO cartDTO = mapper.map(cart, CartDTO.class);
-									// Set item name from ItemMaster
-									if (cart.getItem() != null) {
-										cartDTO.setItemName(cart.getItem().getItemName());
-									}
-									return cartDTO;
-								})
-								.collect(Collectors.toList()));
-					}
-					return orderDTO;
-				})
-				.collect(Collectors.toList());
+		// The pending list is served from memory once the kitchen queue is loaded
+		if (orderStatus == OrderStatus.PENDING && kitchenQueue.isLoaded()) {
+			return kitchenQueue.getPendingOrders();
+		}
+		return withCarts(orderRepository.findDTOsByOrderStatus(orderStatus),
+				cartRepository.findDTOsByOrderStatus(orderStatus));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public OrderPageDTO getOrderPageByStatus(OrderStatus orderStatus, String after, int limit) {
+		OrderCursor cursor = after == null ? null : OrderCursor.decode(after);
+		int size = pageSize(limit);
+		// The kitchen works oldest-first on pending orders; history is newest-first
+		List<Long> ids = orderStatus == OrderStatus.PENDING
+				? orderRepository.findIdPageByStatusAsc(orderStatus, cursorTime(cursor), cursorId(cursor),
+						Pageable.ofSize(size))
+				: orderRepository.findIdPageByStatusDesc(orderStatus, cursorTime(cursor), cursorId(cursor),
+						Pageable.ofSize(size));
+		return toPage(ids, size);
 	}
 
 	@Override
 	public OrderDTO createOrder(OrderDTO dto) {
 		Student stud = studRepo.findById(dto.getStudentId())
 				.orElseThrow(() -> new ResourceNotFoundException("Invalid Student Id!!!"));
-		Order order = mapper.map(dto, Order.class);
+		Order order = mapper.toOrder(dto);
+		if (order.getTime() == null) {
+			// Paged listings are keyed on (time, order_id)
+			order.setTime(LocalDateTime.now());
+		}
 		stud.addOrder(order);
 		Order savedOrder = orderRepository.save(order);
 		System.out.println("order id " + order.getOrderId() + " " + savedOrder.getOrderId());
-		return mapper.map(savedOrder, OrderDTO.class);
+		return mapper.toOrderDTO(savedOrder);
 
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public OrderDTO getOrderById(Long orderId) {
-		Order order = orderRepository.findById(orderId)
-				.orElseThrow(() -> new ResourceNotFoundException("Invalid Order Id !!!!"));
-
-		OrderDTO orderDTO = mapper.map(order, OrderDTO.class);
-
-		if (order.getStudent() != null) {
-			// Set Student information in OrderDTO
-			orderDTO.setStudentId(order.getStudent().getStudentId());
-			orderDTO.setStudentName(order.getStudent().getName());
+		Order order = orderRepository.findWithDetailsByOrderId(orderId).orElse(null);
+		if (order != null) {
+			return mapper.toOrderDTO(order);
 		}
-
-		// Map cart items to CartDTO list with item names and prices
-		if (order.getCartList() != null && !order.getCartList().isEmpty()) {
-			orderDTO.setCartList(order.getCartList().stream()
-					.map(cart -> {
-						CartDTO cartDTO = mapper.map(cart, CartDTO.class);
-						// Set item name and price from ItemMaster
-						if (cart.getItem() != null) {
-							cartDTO.setItemName(cart.getItem().getItemName());
-							cartDTO.setItemId(cart.getItem().getId());
-							// Set individual item price for frontend
-							cartDTO.setPrice(cart.getItem().getItemPrice());
-						}
-						return cartDTO;
-					})
-					.collect(Collectors.toList()));
+		// Older served orders have been moved to the archive
+		List<OrderDTO> archived = archivedWithCarts(List.of(orderId));
+		if (archived.isEmpty()) {
+			throw new ResourceNotFoundException("Invalid Order Id !!!!");
 		}
-
-		return orderDTO;
+		return archived.get(0);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDTO> getAllOrdersByStudentId(Long studentId) {
-		List<Order> orderList = orderRepository.findByStudentStudentId(studentId);
-		return orderList.stream().map(order -> {
-			OrderDTO orderDTO = mapper.map(order, OrderDTO.class);
-
-			if (order.getStudent() != null) {
-				// Set Student information in OrderDTO
-				orderDTO.setStudentId(order.getStudent().getStudentId());
-				orderDTO.setStudentName(order.getStudent().getName());
-			}
-
-			// Map cart items to CartDTO list with item names and prices
-			if (order.getCartList() != null && !order.getCartList().isEmpty()) {
-				orderDTO.setCartList(order.getCartList().stream()
-						.map(cart -> {
-							CartDTO cartDTO = mapper.map(cart, CartDTO.class);
-							// Set item name and price from ItemMaster
-							if (cart.getItem() != null) {
-								cartDTO.setItemName(cart.getItem().getItemName());
-								cartDTO.setItemId(cart.getItem().getId());
-								// Set individual item price for frontend
-								cartDTO.setPrice(cart.getItem().getItemPrice());
-							}
-							return cartDTO;
-						})
-						.collect(Collectors.toList()));
-			}
+		List<OrderDTO> orders = withCarts(orderRepository.findDTOsByStudentId(studentId),
+				cartRepository.findDTOsByStudentId(studentId));
+		if (orderArchiver.getArchivedUpTo() != null) {
+			orders.addAll(withCarts(orderArchiveRepository.findDTOsByStudentId(studentId),
+					orderArchiveRepository.findCartDTOsByStudentId(studentId)));
+		}
+		return orders;
+	}
 
-			return orderDTO;
-		}).collect(Collectors.toList());
+	@Override
+	@Transactional(readOnly = true)
+	public OrderPageDTO getOrderPageByStudentId(Long studentId, String after, int limit) {
+		OrderCursor cursor = after == null ? null : OrderCursor.decode(after);
+		int size = pageSize(limit);
+		List<Long> ids = orderRepository.findIdPageByStudentDesc(studentId, cursorTime(cursor), cursorId(cursor),
+				Pageable.ofSize(size));
+		OrderPageDTO page = toPage(ids, size);
+
+		// Archived orders are all at or before archivedUpTo: the archive is only read
+		// once the page runs out of recent orders or reaches back that far
+		LocalDateTime archivedUpTo = orderArchiver.getArchivedUpTo();
+		List<OrderDTO> orders = page.getOrders();
+		if (archivedUpTo == null
+				|| (orders.size() == size && orders.get(orders.size() - 1).getTime().isAfter(archivedUpTo))) {
+			return page;
+		}
+		List<Long> archivedIds = orderArchiveRepository.findIdPageByStudentDesc(studentId, cursorTime(cursor),
+				cursorId(cursor), Pageable.ofSize(size));
+		if (archivedIds.isEmpty()) {
+			return page;
+		}
+		List<OrderDTO> merged = new ArrayList<>(orders);
+		merged.addAll(archivedWithCarts(archivedIds));
+		merged.sort(NEWEST_FIRST);
+		return pageOf(new ArrayList<>(merged.subList(0, Math.min(size, merged.size()))), size);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Long getCountOfOrdersByStatus(OrderStatus orderStatus) {
+		if (kitchenQueue.isLoaded()) {
+			return kitchenQueue.getCount(orderStatus);
+		}
 		return orderRepository.countByOrderStatus(orderStatus);
 	}
+
+	@Override
+	public QueuePositionDTO getQueuePosition(Long orderId) {
+		if (!kitchenQueue.isLoaded()) {
+			throw new IllegalStateException("Kitchen queue is still loading, please retry");
+		}
+		Integer position = kitchenQueue.getPosition(orderId);
+		if (position == null) {
+			throw new ResourceNotFoundException("Order " + orderId + " is not waiting in the kitchen queue");
+		}
+		return new QueuePositionDTO(orderId, position, position - 1, kitchenQueue.getPendingSize());
+	}
 	//
 	// @Override
 	// public CreateOrderDTO placeOrder(Long studentId, PlaceOrderRequest request) {
@@ -198,98 +231,120 @@ public class OrderServiceImpl implements OrderService {
 
 	@Override
 	public CreateOrderDTO placeOrder(Long studentId, PlaceOrderRequest request) {
-		if (studentId == null) {
-			throw new ResourceNotFoundException("Student ID cannot be null");
-		}
-		Optional<Student> studentOptional = studRepo.findById(studentId);
-		if (studentOptional.isEmpty()) {
-			throw new ResourceNotFoundException("Student not found");
-		}
-
-		Student student = studentOptional.get();
-
-		Order order = new Order();
-		order.setStudent(student);
-		order.setTime(LocalDateTime.now()); // Set order timestamp
-
-		// Payment configuration
-		String paymentMethod = "WALLET"; // Default to wallet payment
-		order.setPaymentMethod(paymentMethod);
-		order.setTransactionId("TXN-" + paymentMethod + "-" + UUID.randomUUID().toString());
+		return orderPlacement.place(studentId, request);
+	}
 
-		order.setQty(request.calculateTotalQty());
-		order.setAmount(request.calculateTotalAmount());
-		order.setItemsServed(0);
-		order.setDiscountPercentage(0);
+	@Override
+	@Transactional
+	public OrderDTO updateOrderStatus(Long orderId, OrderStatus status) {
+		Order order = orderRepository.findById(orderId)
+				.orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
-		// All orders start as PENDING (matches database schema)
-		order.setOrderStatus(OrderStatus.PENDING);
-		order.setIsServed(false);
+		OrderStatus previousStatus = order.getOrderStatus();
 
-		LocalDate today = LocalDate.now();
+		// Update order status
+		order.setOrderStatus(status);
 
-		// Process cart items and deduct from DAILY inventory
-		for (CartItem cartItem : request.getItems()) {
-			// Fetch the ItemMaster entity
-			ItemMaster itemMaster = itemMasterRepo.findById(cartItem.getItemId())
-					.orElseThrow(() -> new ResourceNotFoundException("Invalid Item ID: " + cartItem.getItemId()));
+		// Set isServed flag when marking as SERVED
+		if (status == OrderStatus.SERVED) {
+			order.setIsServed(true);
+		}
 
-			// Find today's daily menu entry for this item
-			ItemDaily dailyItem = itemDailyRepo.findByItemAndDate(itemMaster, today)
-					.orElseThrow(() -> new IllegalStateException(
-							"Item not available in today's menu: " + itemMaster.getItemName()));
+		// NO inventory changes - already deducted at order placement
 
-			// Validate sufficient daily quantity
-			int availableQty = dailyItem.getAvailableQty(); // init_qty - sold_qty
-			int orderedQty = cartItem.getQtyOrdered();
+		Order updatedOrder = orderRepository.save(order);
+		OrderDTO orderDTO = mapper.toOrderDTO(updatedOrder);
+		eventPublisher.publishEvent(new OrderEvent(OrderEventType.ORDER_STATUS_CHANGED, orderDTO, previousStatus));
+		return orderDTO;
+	}
 
-			if (availableQty < orderedQty) {
-				throw new IllegalStateException(
-						"Insufficient daily stock for item: " + itemMaster.getItemName() +
-								". Available: " + availableQty + ", Requested: " + orderedQty);
+	@Override
+	public BulkStatusUpdateDTO updateOrderStatuses(List<Long> orderIds, OrderStatus status) {
+		// Lock the rows first: the UPDATE then changes exactly the ones found in another status
+		Map<Long, OrderStatus> currentById = new HashMap<>();
+		for (Object[] row : orderRepository.lockStatuses(new TreeSet<>(orderIds))) {
+			currentById.put(((Number) row[0]).longValue(), OrderStatus.valueOf((String) row[1]));
+		}
+		Map<Long, OrderStatus> previousById = new LinkedHashMap<>();
+		currentById.forEach((orderId, current) -> {
+			if (current != status) {
+				previousById.put(orderId, current);
 			}
+		});
 
-			// Increment sold_qty in item_daily (NOT item_master)
-			dailyItem.setSoldQty(dailyItem.getSoldQty() + orderedQty);
-			itemDailyRepo.save(dailyItem);
+		int updated = previousById.isEmpty() ? 0 : orderRepository.updateStatuses(previousById.keySet(), status);
 
-			// Create cart entity
-			CartDTO cart = new CartDTO();
-			cart.setItemId(cartItem.getItemId());
-			cart.setQtyOrdered(cartItem.getQtyOrdered());
-			cart.setNetPrice(cartItem.calculateNetPrice());
-			Cart cartEntity = mapper.map(cart, Cart.class);
-			cartEntity.setOrder(order);
-			cartEntity.setItem(itemMaster); // ✅ CRITICAL FIX: Set the ItemMaster entity
-			order.getCartList().add(cartEntity);
+		List<BulkStatusUpdateDTO.Result> results = new ArrayList<>(orderIds.size());
+		for (Long orderId : orderIds) {
+			BulkStatusUpdateDTO.Outcome outcome = !currentById.containsKey(orderId)
+					? BulkStatusUpdateDTO.Outcome.NOT_FOUND
+					: previousById.containsKey(orderId) ? BulkStatusUpdateDTO.Outcome.UPDATED
+							: BulkStatusUpdateDTO.Outcome.UNCHANGED;
+			results.add(new BulkStatusUpdateDTO.Result(orderId, outcome));
+		}
 
+		// Kitchen queue and stream subscribers get the whole batch as one event after commit
+		if (!previousById.isEmpty()) {
+			eventPublisher.publishEvent(new OrderStatusBatchEvent(status, previousById));
 		}
+		return new BulkStatusUpdateDTO(status, updated, results);
+	}
 
-		orderRepository.save(order);
+	// ================= HELPERS =================
 
-		CreateOrderDTO orderdto = mapper.map(order, CreateOrderDTO.class);
+	// Attaches projected cart lines to their orders (orders without lines keep a null list)
+	private static List<OrderDTO> withCarts(List<OrderDTO> orders, List<CartDTO> carts) {
+		Map<Long, List<CartDTO>> cartsByOrder = carts.stream()
+				.collect(Collectors.groupingBy(CartDTO::getOrderId));
+		for (OrderDTO order : orders) {
+			order.setCartList(cartsByOrder.get(order.getOrderId()));
+		}
+		return orders;
+	}
 
-		return orderdto;
+	private List<OrderDTO> archivedWithCarts(List<Long> orderIds) {
+		return withCarts(orderArchiveRepository.findDTOsByOrderIdIn(orderIds),
+				orderArchiveRepository.findCartDTOsByOrderIdIn(orderIds));
 	}
 
-	@Override
-	@Transactional
-	public OrderDTO updateOrderStatus(Long orderId, OrderStatus status) {
-		Order order = orderRepository.findById(orderId)
-				.orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+	// Loads the orders of one id page and keeps the order of the ids
+	private OrderPageDTO toPage(List<Long> ids, int size) {
+		if (ids.isEmpty()) {
+			return new OrderPageDTO(List.of(), null);
+		}
+		Map<Long, OrderDTO> byId = withCarts(orderRepository.findDTOsByOrderIdIn(ids),
+				cartRepository.findDTOsByOrderIdIn(ids))
+				.stream()
+				.collect(Collectors.toMap(OrderDTO::getOrderId, Function.identity()));
+		List<OrderDTO> orders = ids.stream()
+				.map(byId::get)
+				.collect(Collectors.toList());
+		return pageOf(orders, size);
+	}
 
-		// Update order status
-		order.setOrderStatus(status);
+	// A full page gets a cursor past its last order
+	private static OrderPageDTO pageOf(List<OrderDTO> orders, int size) {
+		String nextCursor = null;
+		if (orders.size() == size) {
+			OrderDTO last = orders.get(orders.size() - 1);
+			nextCursor = new OrderCursor(last.getTime(), last.getOrderId()).encode();
+		}
+		return new OrderPageDTO(orders, nextCursor);
+	}
 
-		// Set isServed flag when marking as SERVED
-		if (status == OrderStatus.SERVED) {
-			order.setIsServed(true);
+	private static int pageSize(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit must be at least 1");
 		}
+		return Math.min(limit, MAX_PAGE_SIZE);
+	}
 
-		// NO inventory changes - already deducted at order placement
+	private static LocalDateTime cursorTime(OrderCursor cursor) {
+		return cursor == null ? null : cursor.time();
+	}
 
-		Order updatedOrder = orderRepository.save(order);
-		return mapper.map(updatedOrder, OrderDTO.class);
+	private static Long cursorId(OrderCursor cursor) {
+		return cursor == null ? null : cursor.orderId();
 	}
 
 }
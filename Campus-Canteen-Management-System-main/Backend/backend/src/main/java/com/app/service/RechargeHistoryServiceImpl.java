@@ -3,7 +3,6 @@ package com.app.service;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,7 +11,9 @@ import com.app.dto.ApiResponse;
 import com.app.dto.RechargeHistoryDTO;
 import com.app.entities.RechargeHistory;
 import com.app.entities.Student;
+import com.app.entities.WalletEntryType;
 import com.app.exceptions.ResourceNotFoundException;
+import com.app.mapper.DtoMapper;
 import com.app.repository.RechargeHistoryRepository;
 import com.app.repository.StudentRepository;
 
@@ -27,22 +28,17 @@ public class RechargeHistoryServiceImpl implements RechargeHistoryService {
 	private StudentRepository studRepo;
 
 	@Autowired
-	private ModelMapper mapper;
+	private WalletLedgerService walletLedgerService;
+
+	@Autowired
+	private DtoMapper mapper;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<RechargeHistoryDTO> getAllRechargeHistoryOfStudent(Long studId) {
 		List<RechargeHistory> rechargeList = rechargeRepo.findByStudentStudentId(studId);
 
-		return rechargeList.stream().map(recharge -> {
-			RechargeHistoryDTO rechargeDTO = mapper.map(recharge, RechargeHistoryDTO.class);
-
-			if (recharge.getStudent() != null) {
-				// Set Student information in RechargeHistoryDTO
-				rechargeDTO.setStudentId(recharge.getStudent().getStudentId());
-			}
-
-			return rechargeDTO;
-		}).collect(Collectors.toList());
+		return rechargeList.stream().map(mapper::toRechargeHistoryDTO).collect(Collectors.toList());
 	}
 
 	@Override
@@ -64,34 +60,26 @@ public class RechargeHistoryServiceImpl implements RechargeHistoryService {
 
 		try {
 			// 2. Map DTO to Entity
-			RechargeHistory rechEntity = mapper.map(dto, RechargeHistory.class);
+			RechargeHistory rechEntity = mapper.toRechargeHistory(dto);
 
-			// 3. Manual Safety Mapping
-			rechEntity.setPaymentId(dto.getPaymentId());
-			// Ensure timestamp is set if not present (though typically sent from frontend)
+			// 3. Ensure timestamp is set if not present (though typically sent from frontend)
 			if (rechEntity.getTimestamp() == null) {
 				rechEntity.setTimestamp(java.time.LocalDateTime.now());
 			}
 
-			// 4. Update Balance (Atomic operation due to @Transactional)
-			// Balance is primitive int, no null check needed
-			int currentBalance = stud.getBalance();
-			stud.setBalance(currentBalance + dto.getAmountAdded());
+			// 4. Credit Balance with a single UPDATE (no read-modify-write on the student row)
+			studRepo.creditBalance(stud.getStudentId(), dto.getAmountAdded());
 
 			// 5. Link and Save
 			stud.addRechargeHistory(rechEntity); // This sets the relationship both ways
 
 			RechargeHistory savedRecharge = rechargeRepo.save(rechEntity);
+			walletLedgerService.recordEntry(stud.getStudentId(), dto.getAmountAdded(),
+					WalletEntryType.RECHARGE, savedRecharge.getTransactionId());
 
-			System.out.println("Recharge Successful -> Student: " + stud.getStudentId() +
-					", Amount: " + dto.getAmountAdded() +
-					", PaymentId: " + savedRecharge.getPaymentId() +
-					", New Balance: " + stud.getBalance());
-
-			return mapper.map(savedRecharge, RechargeHistoryDTO.class);
+			return mapper.toRechargeHistoryDTO(savedRecharge);
 
 		} catch (Exception e) {
-			System.err.println("Recharge Failed: " + e.getMessage());
 			throw new RuntimeException("Failed to process recharge: " + e.getMessage());
 		}
 	}
@@ -103,26 +91,19 @@ public class RechargeHistoryServiceImpl implements RechargeHistoryService {
 
 		Student stud = studRepo.findById(dto.getStudentId())
 				.orElseThrow(() -> new ResourceNotFoundException("Invalid Student Id!!!"));
-		mapper.map(dto, recharge);
+		mapper.updateRechargeHistory(dto, recharge);
 		stud.addRechargeHistory(recharge);
 		dto.setTransactionId(tranId);
 		return dto;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public RechargeHistoryDTO getRechargeDetails(Long tranId) {
 		RechargeHistory recharge = rechargeRepo.findById(tranId)
 				.orElseThrow(() -> new ResourceNotFoundException("Invalid Transaction Id !!!!"));
 
-		RechargeHistoryDTO rechargeDTO = mapper.map(recharge, RechargeHistoryDTO.class);
-
-		if (recharge.getStudent() != null) {
-			// Set Student information in RechargeHistoryDTO
-			rechargeDTO.setStudentId(recharge.getStudent().getStudentId());
-
-		}
-
-		return rechargeDTO;
+		return mapper.toRechargeHistoryDTO(recharge);
 	}
 
 	@Override
@@ -0,0 +1,28 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.app.dto.CategorySalesDTO;
+import com.app.dto.ItemSalesDTO;
+import com.app.dto.SalesPeriod;
+import com.app.dto.SalesPointDTO;
+
+public interface SalesService {
+
+	// Adds one order's lines to daily_item_sales, inside the caller's transaction
+	void recordSale(LocalDate saleDate, Map<Long, Integer> qtyByItem, Map<Long, Integer> revenueByItem);
+
+	List<SalesPointDTO> getRevenue(LocalDate from, LocalDate to, SalesPeriod period);
+
+	List<ItemSalesDTO> getTopItems(LocalDate from, LocalDate to, int limit);
+
+	List<CategorySalesDTO> getCategorySales(LocalDate from, LocalDate to);
+
+	// Recomputes daily_category_sales for the days from daily_item_sales
+	int refreshCategorySales(LocalDate from, LocalDate to);
+
+	// Recomputes both rollups for the days from orders / carts and the archive
+	int rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,135 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dto.CategorySalesDTO;
+import com.app.dto.ItemSalesDTO;
+import com.app.dto.SalesPeriod;
+import com.app.dto.SalesPointDTO;
+import com.app.entities.ItemCategory;
+
+/**
+ * Reads and maintains the daily_item_sales / daily_category_sales rollups
+ * (V5__daily_sales_rollups.sql), so the dashboard never aggregates orders
+ * and carts on the fly. Ranges are whole days, from and to inclusive.
+ */
+@Service
+@Transactional
+public class SalesServiceImpl implements SalesService {
+
+	// Largest top-items list served
+	private static final int MAX_TOP_ITEMS = 100;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public SalesServiceImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void recordSale(LocalDate saleDate, Map<Long, Integer> qtyByItem, Map<Long, Integer> revenueByItem) {
+		// Callers pass the items sorted by id (as their item_daily rows are locked),
+		// so concurrent orders take these row locks in the same order too
+		SqlParameterSource[] rows = qtyByItem.entrySet().stream()
+				.map(entry -> new MapSqlParameterSource()
+						.addValue("date", saleDate)
+						.addValue("itemId", entry.getKey())
+						.addValue("qty", entry.getValue())
+						.addValue("revenue", revenueByItem.get(entry.getKey())))
+				.toArray(SqlParameterSource[]::new);
+		jdbcTemplate.batchUpdate("insert into daily_item_sales (sale_date, item_id, qty, revenue)"
+				+ " values (:date, :itemId, :qty, :revenue)"
+				+ " on duplicate key update qty = qty + values(qty), revenue = revenue + values(revenue)", rows);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SalesPointDTO> getRevenue(LocalDate from, LocalDate to, SalesPeriod period) {
+		// At most one row per day; weeks and months are summed up here
+		Map<LocalDate, SalesPointDTO> byPeriod = new LinkedHashMap<>();
+		jdbcTemplate.query("select sale_date, sum(qty) as qty, sum(revenue) as revenue from daily_item_sales"
+				+ " where sale_date between :from and :to group by sale_date order by sale_date",
+				range(from, to), rs -> {
+					LocalDate periodStart = period.start(rs.getObject("sale_date", LocalDate.class));
+					SalesPointDTO point = byPeriod.computeIfAbsent(periodStart, start -> new SalesPointDTO(start, 0, 0));
+					point.setQty(point.getQty() + rs.getLong("qty"));
+					point.setRevenue(point.getRevenue() + rs.getLong("revenue"));
+				});
+		return new ArrayList<>(byPeriod.values());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemSalesDTO> getTopItems(LocalDate from, LocalDate to, int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit must be at least 1");
+		}
+		return jdbcTemplate.query("select s.item_id, i.item_name, sum(s.qty) as qty, sum(s.revenue) as revenue"
+				+ " from daily_item_sales s left join item_master i on i.item_id = s.item_id"
+				+ " where s.sale_date between :from and :to group by s.item_id, i.item_name"
+				+ " order by revenue desc, qty desc limit :limit",
+				range(from, to).addValue("limit", Math.min(limit, MAX_TOP_ITEMS)),
+				(rs, rowNum) -> new ItemSalesDTO(rs.getLong("item_id"), rs.getString("item_name"),
+						rs.getLong("qty"), rs.getLong("revenue")));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<CategorySalesDTO> getCategorySales(LocalDate from, LocalDate to) {
+		return jdbcTemplate.query("select item_category, sum(qty) as qty, sum(revenue) as revenue"
+				+ " from daily_category_sales where sale_date between :from and :to"
+				+ " group by item_category order by revenue desc",
+				range(from, to),
+				(rs, rowNum) -> new CategorySalesDTO(ItemCategory.valueOf(rs.getString("item_category")),
+						rs.getLong("qty"), rs.getLong("revenue")));
+	}
+
+	@Override
+	public int refreshCategorySales(LocalDate from, LocalDate to) {
+		MapSqlParameterSource range = range(from, to);
+		jdbcTemplate.update("delete from daily_category_sales where sale_date between :from and :to", range);
+		return jdbcTemplate.update("insert into daily_category_sales (sale_date, item_category, qty, revenue)"
+				+ " select s.sale_date, i.item_category, sum(s.qty), sum(s.revenue)"
+				+ " from daily_item_sales s join item_master i on i.item_id = s.item_id"
+				+ " where s.sale_date between :from and :to group by s.sale_date, i.item_category", range);
+	}
+
+	@Override
+	public int rebuild(LocalDate from, LocalDate to) {
+		MapSqlParameterSource range = range(from, to)
+				.addValue("start", from.atStartOfDay())
+				.addValue("end", to.plusDays(1).atStartOfDay());
+		// The delete locks the days, so orders placed meanwhile add to the rebuilt rows
+		jdbcTemplate.update("delete from daily_item_sales where sale_date between :from and :to", range);
+		int rows = jdbcTemplate.update("insert into daily_item_sales (sale_date, item_id, qty, revenue)"
+				+ " select sale_date, item_id, sum(qty), sum(revenue) from ("
+				+ " select date(o.time) as sale_date, c.item_id, c.qty_ordered as qty, c.net_price as revenue"
+				+ " from carts c join orders o on o.order_id = c.order_id"
+				+ " where o.time >= :start and o.time < :end"
+				+ " union all"
+				+ " select date(c.order_time), c.item_id, c.qty_ordered, c.net_price from carts_archive c"
+				+ " where c.order_time >= :start and c.order_time < :end"
+				+ ") lines group by sale_date, item_id", range);
+		refreshCategorySales(from, to);
+		return rows;
+	}
+
+	private static MapSqlParameterSource range(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("from must not be after to");
+		}
+		return new MapSqlParameterSource()
+				.addValue("from", from)
+				.addValue("to", to);
+	}
+}
@@ -0,0 +1,74 @@
+package com.app.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style transaction ids: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id and a 12-bit per-millisecond sequence, rendered as
+ * "TXN-" plus 13 fixed-width Crockford base32 characters.
+ *
+ * Ids from one node are strictly increasing, so new orders append to the
+ * right edge of the transaction_id index, and the string form sorts by
+ * placement time. The timestamp and sequence live in one AtomicLong advanced
+ * by CAS, so there is no lock and no SecureRandom on the order path. When the
+ * sequence runs out or the clock steps back, the generator borrows the next
+ * millisecond instead of repeating an id.
+ *
+ * Every backend instance must run with its own orders.txn.node-id (0-1023):
+ * two instances sharing one would hand out the same ids. There is no default,
+ * so an instance without one fails at startup instead of guessing.
+ */
+@Component
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+
+	private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+	private static final int NODE_BITS = 10;
+	private static final int SEQUENCE_BITS = 12;
+	private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+	private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+	private final long nodeId;
+
+	// (millis since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+	private final AtomicLong lastState = new AtomicLong();
+
+	public SnowflakeTransactionIdGenerator(@Value("${orders.txn.node-id}") long nodeId) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("orders.txn.node-id must be between 0 and " + MAX_NODE_ID);
+		}
+		this.nodeId = nodeId;
+	}
+
+	@Override
+	public String nextTransactionId() {
+		return "TXN-" + toBase32(nextId());
+	}
+
+	public long nextId() {
+		long now = System.currentTimeMillis() - EPOCH_MILLIS;
+		while (true) {
+			long last = lastState.get();
+			// New millisecond: restart the sequence. Otherwise take the next sequence
+			// number; an overflow carries into the millisecond bits
+			long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+			if (lastState.compareAndSet(last, next)) {
+				long millis = next >>> SEQUENCE_BITS;
+				return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+			}
+		}
+	}
+
+	private static String toBase32(long id) {
+		char[] chars = new char[13];
+		for (int i = chars.length - 1; i >= 0; i--) {
+			chars[i] = BASE32[(int) (id & 31)];
+			id >>>= 5;
+		}
+		return new String(chars);
+	}
+}
@@ -2,9 +2,7 @@ package com.app.service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,7 +12,9 @@ import com.app.entities.Course;
 import com.app.entities.Role;
 import com.app.entities.Student;
 import com.app.entities.User;
+import com.app.entities.WalletEntryType;
 import com.app.exceptions.ResourceNotFoundException;
+import com.app.mapper.DtoMapper;
 import com.app.repository.ItemDailyRepository;
 import com.app.repository.OrderRepository;
 import com.app.repository.StudentRepository;
@@ -27,24 +27,27 @@ public class StudentServiceImpl implements StudentService {
     private final StudentRepository studentRepository;
     private final ItemDailyRepository itemDailyRepository;
     private final OrderRepository orderRepository;
-    private final ModelMapper modelMapper;
+    private final DtoMapper mapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final WalletLedgerService walletLedgerService;
 
     public StudentServiceImpl(
             StudentRepository studentRepository,
             ItemDailyRepository itemDailyRepository,
             OrderRepository orderRepository,
-            ModelMapper modelMapper,
+            DtoMapper mapper,
             PasswordEncoder passwordEncoder,
-            JwtUtils jwtUtils) {
+            JwtUtils jwtUtils,
+            WalletLedgerService walletLedgerService) {
 
         this.studentRepository = studentRepository;
         this.itemDailyRepository = itemDailyRepository;
         this.orderRepository = orderRepository;
-        this.modelMapper = modelMapper;
+        this.mapper = mapper;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
+        this.walletLedgerService = walletLedgerService;
     }
 
     // ================= REGISTER =================
@@ -122,34 +125,45 @@ public class StudentServiceImpl implements StudentService {
 
     // ================= BALANCE =================
     @Override
+    @Transactional(readOnly = true)
     public int getBalanceById(Long studentId) {
         return getStudent(studentId).getBalance();
     }
 
     @Override
     public ApiResponse setBalanceById(Long studentId, Integer newBalance) {
-        Student student = getStudent(studentId);
+        if (newBalance == null || newBalance < 0) {
+            throw new IllegalArgumentException("Invalid balance: " + newBalance);
+        }
+        Student student = studentRepository.findForUpdate(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        walletLedgerService.recordEntry(studentId, newBalance - student.getBalance(),
+                WalletEntryType.ADJUSTMENT, null);
         student.setBalance(newBalance);
         return new ApiResponse("Balance updated successfully");
     }
 
     // ================= GETTERS =================
     @Override
+    @Transactional(readOnly = true)
     public String getEmailByStudentID(Long id) {
         return getStudent(id).getEmail();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public String getNameByStudentID(Long id) {
         return getStudent(id).getName();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LocalDate getDobByStudentID(Long id) {
         return getStudent(id).getDob();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public String getMobileNoByStudentID(Long id) {
         return getStudent(id).getMobileNo();
     }
@@ -161,31 +175,38 @@ public class StudentServiceImpl implements StudentService {
 
     // ================= CRUD =================
     @Override
+    @Transactional(readOnly = true)
     public StudentDTO getStudentByEmail(String email) {
-        return modelMapper.map(
+        return mapper.toStudentDTO(
                 studentRepository.findByEmail(email)
-                        .orElseThrow(() -> new ResourceNotFoundException("Student not found")),
-                StudentDTO.class);
+                        .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public StudentDTO getStudentDetails(Long studentId) {
-        return modelMapper.map(getStudent(studentId), StudentDTO.class);
+        return mapper.toStudentDTO(getStudent(studentId));
     }
 
     @Override
     public StudentDTO updateStudent(Long studentId, StudentDTO dto) {
-        Student student = getStudent(studentId);
+        Student student = studentRepository.findForUpdate(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        // Balance is optional here; a change is recorded as an adjustment
+        if (dto.getBalance() != null && dto.getBalance() != student.getBalance()) {
+            walletLedgerService.recordEntry(studentId, dto.getBalance() - student.getBalance(),
+                    WalletEntryType.ADJUSTMENT, null);
+            student.setBalance(dto.getBalance());
+        }
 
         student.setName(dto.getName());
         student.setEmail(dto.getEmail());
         student.setMobileNo(dto.getMobileNo());
-        student.setBalance(dto.getBalance());
         student.setDob(dto.getDob());
         student.setCourseName(
                 Course.valueOf(dto.getCourseName().toUpperCase()));
 
-        return modelMapper.map(student, StudentDTO.class);
+        return mapper.toStudentDTO(student);
     }
 
     @Override
@@ -195,19 +216,19 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetAllStudentDTO> getAllStudents() {
-        return studentRepository.findAll()
-                .stream()
-                .map(s -> modelMapper.map(s, GetAllStudentDTO.class))
-                .collect(Collectors.toList());
+        return studentRepository.findAllDTOs();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getTotalRegisteredStudents() {
         return studentRepository.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean studentExists(Long studentId) {
         return studentRepository.existsById(studentId);
     }
@@ -0,0 +1,200 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.app.entities.ItemDaily;
+import com.app.repository.ItemDailyRepository;
+
+/**
+ * In-memory view of how many portions of each item are left on today's menu.
+ *
+ * placeOrder reserves against these counters (lock-free CAS) before touching
+ * item_daily, so sold-out items are rejected without queueing on the hot row
+ * lock. The conditional UPDATE on item_daily stays the source of truth: the
+ * ledger only filters, it never accepts an order the database would refuse.
+ * Counters are rebuilt from item_daily at startup, after every menu change and
+ * periodically, which also picks up sales made by other instances.
+ * A reservation is handed back to the counters it was taken from: after a
+ * rebuild those are no longer in use, and the fresh counters already
+ * reflect the database without it.
+ */
+@Component
+public class TodayStockLedger {
+
+	private final ItemDailyRepository itemDailyRepo;
+	private final CatalogVersions catalogVersions;
+
+	private volatile Snapshot snapshot = new Snapshot(LocalDate.MIN, new ConcurrentHashMap<>());
+
+	public TodayStockLedger(ItemDailyRepository itemDailyRepo, CatalogVersions catalogVersions) {
+		this.itemDailyRepo = itemDailyRepo;
+		this.catalogVersions = catalogVersions;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadOnStartup() {
+		reload();
+	}
+
+	@Scheduled(fixedDelayString = "${stock.ledger.resync-ms:30000}")
+	public void resync() {
+		reload();
+	}
+
+	// ================= LOAD =================
+
+	public void reload() {
+		LocalDate today = LocalDate.now();
+		Map<Long, AtomicInteger> remaining = new ConcurrentHashMap<>();
+		for (ItemDaily daily : itemDailyRepo.findByDate(today)) {
+			remaining.put(daily.getItem().getId(), new AtomicInteger(daily.getAvailableQty()));
+		}
+		Snapshot previous = snapshot;
+		snapshot = new Snapshot(today, remaining);
+		// A difference not made through this instance (e.g. sales on another one)
+		// must still invalidate the cached daily menu
+		if (!sameCounts(previous, snapshot)) {
+			catalogVersions.dailyItemsChanged();
+		}
+	}
+
+	// Rebuild once the surrounding transaction (a menu change) has committed
+	public void reloadAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			reload();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				reload();
+			}
+		});
+	}
+
+	// ================= RESERVE / RELEASE =================
+
+	/**
+	 * Reserves every quantity or none of them. Items the ledger does not
+	 * know about are left for the database to decide.
+	 *
+	 * @return the reservation; its soldOutItemId is the first item that has
+	 *         too few portions left, in which case nothing is reserved
+	 */
+	public Reservation tryReserve(Map<Long, Integer> qtyByItem) {
+		Snapshot current = snapshot;
+		if (!current.date().equals(LocalDate.now())) {
+			return new Reservation(null, qtyByItem, null);
+		}
+		for (Map.Entry<Long, Integer> entry : qtyByItem.entrySet()) {
+			AtomicInteger counter = current.remaining().get(entry.getKey());
+			if (counter != null && !decrementIfAvailable(counter, entry.getValue())) {
+				undo(current, qtyByItem, entry.getKey());
+				return new Reservation(null, qtyByItem, entry.getKey());
+			}
+		}
+		return new Reservation(current, qtyByItem, null);
+	}
+
+	public void release(Reservation reservation) {
+		if (reservation.snapshot == null) {
+			return;
+		}
+		for (Map.Entry<Long, Integer> entry : reservation.qtyByItem.entrySet()) {
+			AtomicInteger counter = reservation.snapshot.remaining().get(entry.getKey());
+			if (counter != null) {
+				counter.addAndGet(entry.getValue());
+			}
+		}
+	}
+
+	// Give the reservation back unless the surrounding transaction commits
+	public void releaseOnRollback(Reservation reservation) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					release(reservation);
+				}
+			}
+		});
+	}
+
+	public Integer getRemaining(Long itemId) {
+		AtomicInteger counter = snapshot.remaining().get(itemId);
+		return counter == null ? null : counter.get();
+	}
+
+	private static boolean sameCounts(Snapshot a, Snapshot b) {
+		if (!a.date().equals(b.date()) || !a.remaining().keySet().equals(b.remaining().keySet())) {
+			return false;
+		}
+		for (Map.Entry<Long, AtomicInteger> entry : a.remaining().entrySet()) {
+			if (entry.getValue().get() != b.remaining().get(entry.getKey()).get()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean decrementIfAvailable(AtomicInteger counter, int qty) {
+		int current;
+		do {
+			current = counter.get();
+			if (current < qty) {
+				return false;
+			}
+		} while (!counter.compareAndSet(current, current - qty));
+		return true;
+	}
+
+	// Roll back the items reserved before the one that failed
+	private static void undo(Snapshot current, Map<Long, Integer> qtyByItem, Long failedItemId) {
+		for (Map.Entry<Long, Integer> entry : qtyByItem.entrySet()) {
+			if (entry.getKey().equals(failedItemId)) {
+				return;
+			}
+			AtomicInteger counter = current.remaining().get(entry.getKey());
+			if (counter != null) {
+				counter.addAndGet(entry.getValue());
+			}
+		}
+	}
+
+	private record Snapshot(LocalDate date, Map<Long, AtomicInteger> remaining) {
+	}
+
+	/**
+	 * Portions taken from one set of counters; snapshot is null when nothing
+	 * was taken (sold out, or the ledger is not loaded for today yet).
+	 */
+	public static final class Reservation {
+		private final Snapshot snapshot;
+		private final Map<Long, Integer> qtyByItem;
+		private final Long soldOutItemId;
+
+		private Reservation(Snapshot snapshot, Map<Long, Integer> qtyByItem, Long soldOutItemId) {
+			this.snapshot = snapshot;
+			this.qtyByItem = qtyByItem;
+			this.soldOutItemId = soldOutItemId;
+		}
+
+		// null when every item could be reserved
+		public Long getSoldOutItemId() {
+			return soldOutItemId;
+		}
+	}
+}
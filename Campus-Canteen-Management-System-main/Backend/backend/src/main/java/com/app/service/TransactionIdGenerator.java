@@ -0,0 +1,7 @@
+package com.app.service;
+
+public interface TransactionIdGenerator {
+
+	// Unique, compact id for orders.transaction_id
+	String nextTransactionId();
+}
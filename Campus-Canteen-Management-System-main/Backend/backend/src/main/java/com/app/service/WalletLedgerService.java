@@ -0,0 +1,15 @@
+package com.app.service;
+
+import com.app.dto.WalletBalanceDTO;
+import com.app.entities.WalletEntryType;
+
+public interface WalletLedgerService {
+
+	void recordEntry(Long studentId, int amount, WalletEntryType type, Long referenceId);
+
+	WalletBalanceDTO getLedgerBalance(Long studentId);
+
+	int compactSnapshots();
+
+	int seedOpeningBalances();
+}
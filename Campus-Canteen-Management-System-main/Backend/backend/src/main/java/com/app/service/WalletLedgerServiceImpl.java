@@ -0,0 +1,101 @@
+package com.app.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dto.WalletBalanceDTO;
+import com.app.entities.WalletEntry;
+import com.app.entities.WalletEntryType;
+import com.app.entities.WalletSnapshot;
+import com.app.exceptions.ResourceNotFoundException;
+import com.app.repository.StudentRepository;
+import com.app.repository.WalletEntryRepository;
+import com.app.repository.WalletSnapshotRepository;
+
+@Service
+@Transactional
+public class WalletLedgerServiceImpl implements WalletLedgerService {
+
+	private final WalletEntryRepository entryRepo;
+	private final WalletSnapshotRepository snapshotRepo;
+	private final StudentRepository studentRepo;
+
+	// Entries younger than this are left in the tail, so a transaction that is
+	// still open when compaction runs cannot commit below the new watermark
+	@Value("${wallet.snapshot.grace-seconds:60}")
+	private long graceSeconds;
+
+	public WalletLedgerServiceImpl(WalletEntryRepository entryRepo,
+			WalletSnapshotRepository snapshotRepo,
+			StudentRepository studentRepo) {
+		this.entryRepo = entryRepo;
+		this.snapshotRepo = snapshotRepo;
+		this.studentRepo = studentRepo;
+	}
+
+	// ================= WRITE =================
+	@Override
+	public void recordEntry(Long studentId, int amount, WalletEntryType type, Long referenceId) {
+		if (amount == 0) {
+			return;
+		}
+		entryRepo.save(new WalletEntry(studentId, amount, type, referenceId));
+	}
+
+	// ================= READ =================
+	@Override
+	@Transactional(readOnly = true)
+	public WalletBalanceDTO getLedgerBalance(Long studentId) {
+		int cachedBalance = studentRepo.findBalanceByStudentId(studentId)
+				.orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+
+		WalletSnapshot snapshot = snapshotRepo.findById(studentId)
+				.orElseGet(() -> new WalletSnapshot(studentId));
+		long tail = entryRepo.sumAfter(studentId, snapshot.getLastEntryId());
+
+		return new WalletBalanceDTO(studentId, snapshot.getBalance() + tail, cachedBalance,
+				snapshot.getBalance(), snapshot.getLastEntryId());
+	}
+
+	// ================= COMPACTION =================
+	@Override
+	public int compactSnapshots() {
+		LocalDateTime now = LocalDateTime.now();
+		Long watermark = entryRepo.findMaxEntryIdCreatedBefore(now.minusSeconds(graceSeconds));
+		if (watermark == null) {
+			return 0;
+		}
+
+		List<Object[]> tails = entryRepo.sumTailsUpTo(watermark);
+		List<WalletSnapshot> snapshots = new ArrayList<>(tails.size());
+		for (Object[] row : tails) {
+			Long studentId = (Long) row[0];
+			long sum = ((Number) row[1]).longValue();
+
+			WalletSnapshot snapshot = snapshotRepo.findById(studentId)
+					.orElseGet(() -> new WalletSnapshot(studentId));
+			snapshot.setBalance(Math.toIntExact(snapshot.getBalance() + sum));
+			snapshot.setLastEntryId(watermark);
+			snapshot.setTakenAt(now);
+			snapshots.add(snapshot);
+		}
+		snapshotRepo.saveAll(snapshots);
+		return snapshots.size();
+	}
+
+	// Give students whose balance predates the ledger an OPENING entry, so the
+	// ledger balance matches the cached one from the start
+	@Override
+	public int seedOpeningBalances() {
+		List<Object[]> balances = entryRepo.findUnledgeredBalances();
+		for (Object[] row : balances) {
+			recordEntry((Long) row[0], (Integer) row[1], WalletEntryType.OPENING, null);
+		}
+		return balances.size();
+	}
+}
@@ -0,0 +1,100 @@
+-- Baseline: the schema Hibernate (ddl-auto=update) created for the entity
+-- mappings before migrations were introduced. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only run
+-- the later scripts, so nothing added after that point belongs here.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(100) not null,
+    role enum ('STUDENT','ADMIN') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table admin (
+    admin_username varchar(255) not null,
+    admin_password varchar(20),
+    user_id bigint not null,
+    primary key (admin_username),
+    constraint uk_admin_user unique (user_id),
+    constraint fk_admin_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table students (
+    student_id bigint not null auto_increment,
+    name varchar(50) not null,
+    email varchar(60) not null,
+    password varchar(100) not null,
+    mobile_no varchar(15) not null,
+    balance integer not null,
+    dob date,
+    course_name enum ('DAC','DBDA','DAI','DITISS'),
+    user_id bigint not null,
+    primary key (student_id),
+    constraint uk_students_email unique (email),
+    constraint uk_students_user unique (user_id),
+    constraint fk_students_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table item_master (
+    item_id bigint not null auto_increment,
+    item_name varchar(40) not null,
+    item_price integer not null,
+    item_category enum ('Breakfast','Lunch','Snacks','Dinner','Beverages') not null,
+    item_genre enum ('SouthIndian','Oriental','NorthIndian','Maharashtrian') not null,
+    item_image LONGTEXT,
+    total_qty INT DEFAULT 0 not null,
+    sold_qty INT DEFAULT 0 not null,
+    primary key (item_id),
+    constraint uk_item_master_name unique (item_name)
+) engine=InnoDB;
+
+create table item_daily (
+    daily_id bigint not null auto_increment,
+    item_date date not null,
+    init_qty integer not null,
+    sold_qty integer not null,
+    item_id bigint not null,
+    primary key (daily_id),
+    constraint uk_item_daily_date_item unique (item_date, item_id),
+    constraint fk_item_daily_item foreign key (item_id) references item_master (item_id)
+) engine=InnoDB;
+
+create table orders (
+    order_id bigint not null auto_increment,
+    time datetime(6),
+    quantity integer not null,
+    payment_method varchar(255) not null,
+    amount integer,
+    transaction_id varchar(255) not null,
+    items_served integer not null,
+    is_served bit not null,
+    order_status enum ('PENDING','SERVED') not null,
+    discount_percentage integer,
+    student_id bigint,
+    primary key (order_id),
+    constraint uk_orders_transaction unique (transaction_id),
+    constraint fk_orders_student foreign key (student_id) references students (student_id)
+) engine=InnoDB;
+
+create table carts (
+    cart_id bigint not null auto_increment,
+    order_id bigint not null,
+    item_id bigint not null,
+    qty_ordered integer not null,
+    net_price integer not null,
+    primary key (cart_id),
+    constraint fk_carts_order foreign key (order_id) references orders (order_id),
+    constraint fk_carts_item foreign key (item_id) references item_master (item_id)
+) engine=InnoDB;
+
+create table recharge_history (
+    transaction_id bigint not null auto_increment,
+    amount_added integer,
+    payment_id varchar(255),
+    timestamp datetime(6) not null,
+    student_id bigint,
+    primary key (transaction_id),
+    constraint fk_recharge_history_student foreign key (student_id) references students (student_id)
+) engine=InnoDB;
@@ -0,0 +1,40 @@
+-- Tables the entities gained after the baseline and before migrations were
+-- introduced: the wallet ledger (wallet_entries / wallet_snapshots) and the
+-- table-backed id sequences (pooled, allocationSize 50). Databases that ran
+-- those versions with ddl-auto=update already have them, so every table is
+-- only created when missing and a sequence is only seeded when empty.
+-- IdSequenceInitializer moves the sequences past existing ids at startup.
+
+create table if not exists wallet_entries (
+    entry_id bigint not null auto_increment,
+    student_id bigint not null,
+    amount integer not null,
+    entry_type enum ('OPENING','RECHARGE','ORDER','ADJUSTMENT') not null,
+    reference_id bigint,
+    created_at datetime(6) not null,
+    primary key (entry_id),
+    index idx_wallet_entries_student (student_id, entry_id)
+) engine=InnoDB;
+
+create table if not exists wallet_snapshots (
+    student_id bigint not null,
+    balance integer not null,
+    last_entry_id bigint not null,
+    taken_at datetime(6) not null,
+    primary key (student_id)
+) engine=InnoDB;
+
+create table if not exists orders_seq (next_val bigint) engine=InnoDB;
+insert into orders_seq (next_val) select 1 from dual where not exists (select * from orders_seq);
+
+create table if not exists carts_seq (next_val bigint) engine=InnoDB;
+insert into carts_seq (next_val) select 1 from dual where not exists (select * from carts_seq);
+
+create table if not exists item_daily_seq (next_val bigint) engine=InnoDB;
+insert into item_daily_seq (next_val) select 1 from dual where not exists (select * from item_daily_seq);
+
+create table if not exists recharge_history_seq (next_val bigint) engine=InnoDB;
+insert into recharge_history_seq (next_val) select 1 from dual where not exists (select * from recharge_history_seq);
+
+create table if not exists students_seq (next_val bigint) engine=InnoDB;
+insert into students_seq (next_val) select 1 from dual where not exists (select * from students_seq);
@@ -0,0 +1,40 @@
+-- Composite indexes for the hot queries:
+--   orders by status / by student, in (time, order_id) keyset order
+--   recharge history of a student, by time
+--   cart lines of an order
+-- Databases that ran with ddl-auto=update may already have the orders
+-- indexes (declared on the entity), so each index is only created when
+-- missing. The single-column foreign key indexes on the same leading
+-- column become redundant and are dropped by MySQL automatically.
+
+set @sql = if((select count(*) from information_schema.statistics
+        where table_schema = database() and table_name = 'orders' and index_name = 'idx_orders_status_time') = 0,
+    'create index idx_orders_status_time on orders (order_status, time, order_id)',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @sql = if((select count(*) from information_schema.statistics
+        where table_schema = database() and table_name = 'orders' and index_name = 'idx_orders_student_time') = 0,
+    'create index idx_orders_student_time on orders (student_id, time, order_id)',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @sql = if((select count(*) from information_schema.statistics
+        where table_schema = database() and table_name = 'recharge_history' and index_name = 'idx_recharge_history_student_time') = 0,
+    'create index idx_recharge_history_student_time on recharge_history (student_id, timestamp)',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @sql = if((select count(*) from information_schema.statistics
+        where table_schema = database() and table_name = 'carts' and index_name = 'idx_carts_order') = 0,
+    'create index idx_carts_order on carts (order_id)',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
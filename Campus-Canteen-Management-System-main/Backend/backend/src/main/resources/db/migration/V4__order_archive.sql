@@ -0,0 +1,44 @@
+-- Archive for SERVED orders older than orders.archive.retention-days. The
+-- OrderArchiver moves them here in chunks, so orders / carts only hold the
+-- current term. Columns match orders / carts; the cart lines also carry their
+-- order's time so both tables can be RANGE partitioned by month.
+-- Partitioned tables cannot have foreign keys, and every unique key must
+-- include the partitioning column, hence the (id, time) primary keys and the
+-- plain index on transaction_id. The tables start with a single catch-all
+-- partition; OrderArchiver splits a partition per month off p_future before
+-- it moves rows of that month.
+
+create table orders_archive (
+    order_id bigint not null,
+    time datetime(6) not null,
+    quantity integer not null,
+    payment_method varchar(255) not null,
+    amount integer,
+    transaction_id varchar(255) not null,
+    items_served integer not null,
+    is_served bit not null,
+    order_status enum ('PENDING','SERVED') not null,
+    discount_percentage integer,
+    student_id bigint,
+    primary key (order_id, time),
+    index idx_orders_archive_student_time (student_id, time, order_id),
+    index idx_orders_archive_time (time),
+    index idx_orders_archive_transaction (transaction_id)
+) engine=InnoDB
+partition by range (to_days(time)) (
+    partition p_future values less than maxvalue
+);
+
+create table carts_archive (
+    cart_id bigint not null,
+    order_id bigint not null,
+    item_id bigint not null,
+    qty_ordered integer not null,
+    net_price integer not null,
+    order_time datetime(6) not null,
+    primary key (cart_id, order_time),
+    index idx_carts_archive_order (order_id)
+) engine=InnoDB
+partition by range (to_days(order_time)) (
+    partition p_future values less than maxvalue
+);
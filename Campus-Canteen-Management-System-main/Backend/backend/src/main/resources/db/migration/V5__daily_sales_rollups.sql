@@ -0,0 +1,42 @@
+-- Pre-aggregated sales for the admin dashboard.
+-- daily_item_sales is upserted in the same transaction as each placed order
+-- (OrderPlacement -> SalesService.recordSale). daily_category_sales is derived
+-- from it by SalesRollupScheduler, so orders of different items in one
+-- category never wait on a shared category row.
+-- item_id has no FK: the sales history outlives a deleted menu item.
+-- Both can be rebuilt from orders / carts (and the archive) with
+-- POST /admin/sales/rebuild.
+
+create table daily_item_sales (
+    sale_date date not null,
+    item_id bigint not null,
+    qty integer not null,
+    revenue bigint not null,
+    primary key (sale_date, item_id)
+) engine=InnoDB;
+
+create table daily_category_sales (
+    sale_date date not null,
+    item_category enum ('Breakfast','Lunch','Snacks','Dinner','Beverages') not null,
+    qty integer not null,
+    revenue bigint not null,
+    primary key (sale_date, item_category)
+) engine=InnoDB;
+
+-- Backfill from the existing history
+insert into daily_item_sales (sale_date, item_id, qty, revenue)
+select date(o.time), c.item_id, sum(c.qty_ordered), sum(c.net_price)
+from carts c join orders o on o.order_id = c.order_id
+where o.time is not null
+group by date(o.time), c.item_id;
+
+insert into daily_item_sales (sale_date, item_id, qty, revenue)
+select date(c.order_time), c.item_id, sum(c.qty_ordered), sum(c.net_price)
+from carts_archive c
+group by date(c.order_time), c.item_id
+on duplicate key update qty = qty + values(qty), revenue = revenue + values(revenue);
+
+insert into daily_category_sales (sale_date, item_category, qty, revenue)
+select s.sale_date, i.item_category, sum(s.qty), sum(s.revenue)
+from daily_item_sales s join item_master i on i.item_id = s.item_id
+group by s.sale_date, i.item_category;
@@ -0,0 +1,56 @@
+-- Item pictures move out of item_master.item_image (base64 data URLs in a
+-- LONGTEXT) into item_images as raw bytes, served by GET /items/{id}/image.
+-- item_master keeps only the SHA-256 of the current picture, which the list
+-- DTOs turn into a versioned image URL.
+-- Values that are not base64 JPEG, PNG, WebP or GIF data URLs cannot be
+-- served and are dropped with the column.
+
+create table item_images (
+    item_id bigint not null,
+    content_type varchar(100) not null,
+    content longblob not null,
+    sha256 varchar(64) not null,
+    updated_at datetime(6) not null,
+    primary key (item_id),
+    constraint fk_item_images_item foreign key (item_id) references item_master (item_id) on delete cascade
+) engine=InnoDB;
+
+alter table item_master add column image_hash varchar(64);
+
+-- Older databases may still carry item_img_link, the column item_image
+-- replaced (widened to LONGTEXT by the removed /api/migration endpoint).
+-- Its pictures are taken over where item_image has none, then it is dropped
+-- with item_image below.
+set @sql = if((select count(*) from information_schema.columns
+        where table_schema = database() and table_name = 'item_master' and column_name = 'item_img_link') > 0,
+    'update item_master set item_image = item_img_link
+     where (item_image is null or item_image not like ''data:image/%'') and item_img_link like ''data:image/%''',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+set @sql = if((select count(*) from information_schema.columns
+        where table_schema = database() and table_name = 'item_master' and column_name = 'item_img_link') > 0,
+    'alter table item_master drop column item_img_link',
+    'do 0');
+prepare stmt from @sql;
+execute stmt;
+deallocate prepare stmt;
+
+insert into item_images (item_id, content_type, content, sha256, updated_at)
+select item_id,
+       substring_index(substring(item_image, 6), ';', 1),
+       from_base64(substring_index(item_image, ',', -1)),
+       '',
+       now(6)
+from item_master
+where substring_index(substring(item_image, 6), ';', 1) in ('image/jpeg', 'image/png', 'image/webp', 'image/gif')
+  and item_image like 'data:image/%;base64,%'
+  and from_base64(substring_index(item_image, ',', -1)) is not null;
+
+update item_images set sha256 = sha2(content, 256);
+
+update item_master m join item_images i on i.item_id = m.item_id set m.image_hash = i.sha256;
+
+alter table item_master drop column item_image;
@@ -0,0 +1,12 @@
+-- Version of the item catalog behind the ETag of GET /items. It is bumped in
+-- the same transaction as every catalog edit and read with one primary key
+-- lookup per conditional GET, so all instances agree on it and it survives
+-- restarts.
+
+create table catalog_version (
+    name varchar(20) not null,
+    version bigint not null,
+    primary key (name)
+) engine=InnoDB;
+
+insert into catalog_version (name, version) values ('items', 0);
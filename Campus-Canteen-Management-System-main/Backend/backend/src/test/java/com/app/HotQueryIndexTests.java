@@ -0,0 +1,77 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks with EXPLAIN that the hot queries use the indexes created by
+ * V3__hot_path_indexes.sql and V4__order_archive.sql, and that the rows the
+ * ordering path loads stay small. Runs against the database configured in
+ * application.properties, like ApplicationTests.
+ */
+@SpringBootTest
+class HotQueryIndexTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void pendingOrdersPageUsesStatusTimeIndex() {
+		assertUsesIndex("select order_id from orders where order_status = 'PENDING' and time is not null "
+				+ "and (time > '2024-01-01 00:00:00' or (time = '2024-01-01 00:00:00' and order_id > 0)) "
+				+ "order by time, order_id limit 20", "idx_orders_status_time");
+	}
+
+	@Test
+	void studentOrderHistoryUsesStudentTimeIndex() {
+		assertUsesIndex("select order_id from orders where student_id = 1 and time is not null "
+				+ "order by time desc, order_id desc limit 20", "idx_orders_student_time");
+	}
+
+	@Test
+	void statusCountsUseStatusTimeIndex() {
+		assertUsesIndex("select order_status, count(*) from orders group by order_status",
+				"idx_orders_status_time");
+	}
+
+	@Test
+	void rechargeHistoryUsesStudentTimeIndex() {
+		assertUsesIndex("select * from recharge_history where student_id = 1 order by timestamp",
+				"idx_recharge_history_student_time");
+	}
+
+	@Test
+	void cartLinesOfOrdersUseOrderIndex() {
+		assertUsesIndex("select * from carts where order_id in (1, 2, 3)", "idx_carts_order");
+	}
+
+	@Test
+	void archivedStudentHistoryUsesArchiveStudentTimeIndex() {
+		assertUsesIndex("select order_id from orders_archive where student_id = 1 "
+				+ "order by time desc, order_id desc limit 20", "idx_orders_archive_student_time");
+	}
+
+	// placeOrder and the order listings load item_master rows; pictures belong in item_images
+	@Test
+	void itemMasterHasNoBlobOrTextColumns() {
+		List<String> large = jdbcTemplate.queryForList("select column_name from information_schema.columns "
+				+ "where table_schema = database() and table_name = 'item_master' and data_type in "
+				+ "('tinyblob', 'blob', 'mediumblob', 'longblob', 'tinytext', 'text', 'mediumtext', 'longtext')",
+				String.class);
+		assertTrue(large.isEmpty(), "item_master should not hold large columns but has " + large);
+	}
+
+	// The optimizer must choose the index (key), being a candidate is not enough
+	private void assertUsesIndex(String sql, String index) {
+		List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql);
+		boolean found = plan.stream().anyMatch(row -> index.equals(row.get("key")));
+		assertTrue(found, "Expected " + index + " as key in plan of [" + sql + "] but got " + plan);
+	}
+}
@@ -0,0 +1,121 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.StudentRepository;
+import com.app.service.OrderService;
+
+/**
+ * Bytes MySQL sends per placeOrder (Bytes_sent of the server), with and
+ * without a picture on the ordered items. Since V6 the pictures live in
+ * item_images, so the count must not grow with them. The bytes the old
+ * item_master.item_image column added are measured by reading the same
+ * pictures as base64 data URLs, once per item row placeOrder loads. Both
+ * numbers are printed. Needs an otherwise idle server: the counter is
+ * global, so the periodic reloads are pushed out.
+ */
+@SpringBootTest(properties = {
+		"kitchen.queue.reconcile-ms=3600000",
+		"stock.ledger.resync-ms=3600000",
+		"wallet.snapshot.compact-ms=3600000" })
+class OrderBytesSentTests {
+
+	private static final int LINES = 3;
+	private static final int ORDERS = 20;
+	private static final int PICTURE_BYTES = 200 * 1024;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private ItemMasterRepository itemMasterRepository;
+	@Autowired
+	private ItemDailyRepository itemDailyRepository;
+	@Autowired
+	private OrderService orderService;
+
+	private OrderFixture fixture;
+
+	@BeforeEach
+	void createFixture() {
+		fixture = OrderFixture.create(new TransactionTemplate(transactionManager), studentRepository,
+				itemMasterRepository, itemDailyRepository, LINES, 1000, 1_000_000);
+	}
+
+	@AfterEach
+	void deleteFixture() {
+		fixture.delete(jdbcTemplate);
+	}
+
+	@Test
+	void placeOrderDoesNotTransferItemPictures() {
+		// Warm-up: connections, statement caches, today's stock in the ledger
+		placeOrders(2);
+
+		long withoutPictures = placeOrders(ORDERS) / ORDERS;
+		addPictures();
+		long withPictures = placeOrders(ORDERS) / ORDERS;
+		long itemImageColumn = bytesSent(() -> {
+			for (Long itemId : fixture.itemIds) {
+				jdbcTemplate.queryForObject("select concat('data:', content_type, ';base64,',"
+						+ " replace(to_base64(content), '\\n', '')) from item_images where item_id = ?",
+						String.class, itemId);
+			}
+		});
+
+		System.out.printf("Bytes sent per placeOrder (%d lines, %d KB pictures):%n", LINES, PICTURE_BYTES / 1024);
+		System.out.printf("  item_master.item_image (before V6): ~%d%n", withPictures + itemImageColumn);
+		System.out.printf("  item_images (now), without pictures: %d%n", withoutPictures);
+		System.out.printf("  item_images (now), with pictures:    %d%n", withPictures);
+		assertTrue(withPictures - withoutPictures < PICTURE_BYTES / 10,
+				"placeOrder should not read pictures: " + withoutPictures + " -> " + withPictures + " bytes");
+	}
+
+	// Total bytes sent by the server while placing the given number of orders
+	private long placeOrders(int count) {
+		return bytesSent(() -> {
+			for (int i = 0; i < count; i++) {
+				orderService.placeOrder(fixture.studentId, fixture.request(LINES));
+			}
+		});
+	}
+
+	private void addPictures() {
+		Random random = new Random(42);
+		for (Long itemId : fixture.itemIds) {
+			byte[] picture = new byte[PICTURE_BYTES];
+			random.nextBytes(picture);
+			jdbcTemplate.update("insert into item_images (item_id, content_type, content, sha256, updated_at)"
+					+ " values (?, 'image/jpeg', ?, sha2(?, 256), now(6))", itemId, picture, picture);
+			jdbcTemplate.update("update item_master m join item_images i on i.item_id = m.item_id"
+					+ " set m.image_hash = i.sha256 where m.item_id = ?", itemId);
+		}
+	}
+
+	private long bytesSent(Runnable work) {
+		long before = globalBytesSent();
+		work.run();
+		return globalBytesSent() - before;
+	}
+
+	private long globalBytesSent() {
+		return jdbcTemplate.queryForObject("show global status like 'Bytes_sent'",
+				(rs, row) -> rs.getLong("Value"));
+	}
+}
@@ -0,0 +1,107 @@
+package com.app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.CartItem;
+import com.app.dto.PlaceOrderRequest;
+import com.app.entities.ItemCategory;
+import com.app.entities.ItemDaily;
+import com.app.entities.ItemGenre;
+import com.app.entities.ItemMaster;
+import com.app.entities.Role;
+import com.app.entities.Student;
+import com.app.entities.User;
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.StudentRepository;
+
+/**
+ * A student with a funded wallet and a few items on today's menu, for the
+ * tests that place or insert orders against the configured database.
+ * delete() removes them again together with everything recorded for them.
+ */
+final class OrderFixture {
+
+	final Long studentId;
+	final List<Long> itemIds;
+
+	private OrderFixture(Long studentId, List<Long> itemIds) {
+		this.studentId = studentId;
+		this.itemIds = itemIds;
+	}
+
+	static OrderFixture create(TransactionTemplate transactionTemplate, StudentRepository studentRepository,
+			ItemMasterRepository itemMasterRepository, ItemDailyRepository itemDailyRepository,
+			int itemCount, int stockPerItem, int balance) {
+		String tag = Long.toString(System.nanoTime(), 36);
+		return transactionTemplate.execute(status -> {
+			User user = new User();
+			user.setEmail("fixture-" + tag + "@test.local");
+			user.setPassword("{noop}fixture");
+			user.setRole(Role.STUDENT);
+			Student student = new Student();
+			student.setName("Fixture " + tag);
+			student.setEmail(user.getEmail());
+			student.setPassword(user.getPassword());
+			student.setMobileNo("9999999999");
+			student.setBalance(balance);
+			student.setUser(user);
+			studentRepository.save(student);
+
+			List<Long> itemIds = new ArrayList<>();
+			for (int i = 0; i < itemCount; i++) {
+				ItemMaster item = new ItemMaster();
+				item.setItemName("fixture-" + tag + "-" + i);
+				item.setItemPrice(10);
+				item.setItemCategory(ItemCategory.Snacks);
+				item.setItemGenre(ItemGenre.SouthIndian);
+				item.setTotalQty(0);
+				item.setSoldQty(0);
+				itemMasterRepository.save(item);
+				ItemDaily daily = new ItemDaily();
+				daily.setItem(item);
+				daily.setInitialQty(stockPerItem);
+				itemDailyRepository.save(daily);
+				itemIds.add(item.getId());
+			}
+			return new OrderFixture(student.getStudentId(), itemIds);
+		});
+	}
+
+	// One unit of each of the first lines items
+	PlaceOrderRequest request(int lines) {
+		List<CartItem> items = new ArrayList<>();
+		for (Long itemId : itemIds.subList(0, lines)) {
+			CartItem cartItem = new CartItem();
+			cartItem.setItemId(itemId);
+			cartItem.setQtyOrdered(1);
+			items.add(cartItem);
+		}
+		PlaceOrderRequest request = new PlaceOrderRequest();
+		request.setItems(items);
+		return request;
+	}
+
+	void delete(JdbcTemplate jdbcTemplate) {
+		String items = itemIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+		Long userId = jdbcTemplate.queryForObject("select user_id from students where student_id = ?", Long.class,
+				studentId);
+		jdbcTemplate.update("delete c from carts c join orders o on o.order_id = c.order_id where o.student_id = ?",
+				studentId);
+		jdbcTemplate.update("delete from orders where student_id = ?", studentId);
+		jdbcTemplate.update("delete from wallet_entries where student_id = ?", studentId);
+		jdbcTemplate.update("delete from wallet_snapshots where student_id = ?", studentId);
+		jdbcTemplate.update("delete from students where student_id = ?", studentId);
+		jdbcTemplate.update("delete from users where id = ?", userId);
+		if (!items.isEmpty()) {
+			jdbcTemplate.update("delete from item_daily where item_id in (" + items + ")");
+			jdbcTemplate.update("delete from daily_item_sales where item_id in (" + items + ")");
+			jdbcTemplate.update("delete from item_master where item_id in (" + items + ")");
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.CreateOrderDTO;
+import com.app.dto.PlaceOrderRequest;
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.StudentRepository;
+import com.app.service.OrderGroupCommitter;
+import com.app.service.OrderPlacement;
+import com.app.service.OrderService;
+
+/**
+ * Throughput and latency of placeOrder under a burst of concurrent students,
+ * one transaction per request versus group commit (a committer started here
+ * with orders.group-commit settings at their defaults). Runs against the
+ * database configured in application.properties and prints both results.
+ * Runs with -Pbenchmarks only.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderGroupCommitBenchmarkTests {
+
+	private static final int STUDENTS = 16;
+	private static final int ORDERS_PER_STUDENT = 25;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private ItemMasterRepository itemMasterRepository;
+	@Autowired
+	private ItemDailyRepository itemDailyRepository;
+	@Autowired
+	private OrderPlacement orderPlacement;
+	@Autowired
+	private OrderService orderService;
+
+	private final List<OrderFixture> fixtures = new ArrayList<>();
+	private OrderGroupCommitter groupCommitter;
+
+	@BeforeEach
+	void createFixtures() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		for (int i = 0; i < STUDENTS; i++) {
+			fixtures.add(OrderFixture.create(transactionTemplate, studentRepository, itemMasterRepository,
+					itemDailyRepository, 1, 10 * ORDERS_PER_STUDENT, 1_000_000));
+		}
+		groupCommitter = new OrderGroupCommitter(orderPlacement, orderService, transactionManager);
+		ReflectionTestUtils.setField(groupCommitter, "enabled", true);
+		ReflectionTestUtils.setField(groupCommitter, "maxBatch", 32);
+		ReflectionTestUtils.setField(groupCommitter, "maxWaitMs", 5L);
+		ReflectionTestUtils.setField(groupCommitter, "queueCapacity", 1000);
+		groupCommitter.start();
+	}
+
+	@AfterEach
+	void deleteFixtures() throws InterruptedException {
+		groupCommitter.stop();
+		for (OrderFixture fixture : fixtures) {
+			fixture.delete(jdbcTemplate);
+		}
+	}
+
+	@Test
+	void compareGroupCommitWithOneTransactionPerOrder() throws Exception {
+		BiFunction<Long, PlaceOrderRequest, CreateOrderDTO> perRequest = orderService::placeOrder;
+		BiFunction<Long, PlaceOrderRequest, CreateOrderDTO> grouped = (studentId, request) -> groupCommitter
+				.submit(studentId, request).join();
+
+		// Warm-up round for both paths
+		run(perRequest, 2);
+		run(grouped, 2);
+
+		Result single = run(perRequest, ORDERS_PER_STUDENT);
+		Result group = run(grouped, ORDERS_PER_STUDENT);
+		System.out.println("placeOrder, " + STUDENTS + " concurrent students x " + ORDERS_PER_STUDENT + " orders:");
+		System.out.println("  one transaction per order: " + single);
+		System.out.println("  group commit:              " + group);
+		assertEquals(STUDENTS * ORDERS_PER_STUDENT, single.orders());
+		assertEquals(STUDENTS * ORDERS_PER_STUDENT, group.orders());
+	}
+
+	private Result run(BiFunction<Long, PlaceOrderRequest, CreateOrderDTO> placeOrder, int ordersPerStudent)
+			throws Exception {
+		ExecutorService students = Executors.newFixedThreadPool(STUDENTS);
+		List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> done = new ArrayList<>();
+			for (OrderFixture fixture : fixtures) {
+				done.add(students.submit(() -> {
+					for (int i = 0; i < ordersPerStudent; i++) {
+						long orderStart = System.nanoTime();
+						placeOrder.apply(fixture.studentId, fixture.request(1));
+						latencies.add(System.nanoTime() - orderStart);
+					}
+				}));
+			}
+			for (Future<?> future : done) {
+				future.get();
+			}
+		} finally {
+			students.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		List<Long> sorted = new ArrayList<>(latencies);
+		Collections.sort(sorted);
+		return new Result(sorted.size(), sorted.size() / seconds, percentileMs(sorted, 0.50),
+				percentileMs(sorted, 0.99));
+	}
+
+	private static double percentileMs(List<Long> sortedNanos, double percentile) {
+		int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+		return sortedNanos.get(Math.max(0, index)) / 1e6;
+	}
+
+	private record Result(int orders, double ordersPerSecond, double p50Ms, double p99Ms) {
+		@Override
+		public String toString() {
+			return String.format("%.0f orders/s, p50 %.1f ms, p99 %.1f ms", ordersPerSecond, p50Ms, p99Ms);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.entities.Cart;
+import com.app.entities.ItemMaster;
+import com.app.entities.Order;
+import com.app.entities.OrderStatus;
+import com.app.entities.Student;
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.StudentRepository;
+import com.app.service.TransactionIdGenerator;
+
+/**
+ * Inserts per second for orders of 6 carts each, with JDBC batching
+ * (hibernate.jdbc.batch_size + rewriteBatchedStatements) and with the batch
+ * size forced to 1 on the session, i.e. one INSERT round trip per row. Runs
+ * against the database configured in application.properties and prints both
+ * rates. Timing-dependent, so it only runs with -Pbenchmarks.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderInsertBenchmarkTests {
+
+	private static final int ORDERS = 200;
+	private static final int CARTS_PER_ORDER = 6;
+	private static final int ORDERS_PER_TRANSACTION = 20;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private ItemMasterRepository itemMasterRepository;
+	@Autowired
+	private ItemDailyRepository itemDailyRepository;
+	@Autowired
+	private TransactionIdGenerator transactionIdGenerator;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TransactionTemplate transactionTemplate;
+	private OrderFixture fixture;
+
+	@BeforeEach
+	void createFixture() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		fixture = OrderFixture.create(transactionTemplate, studentRepository, itemMasterRepository,
+				itemDailyRepository, CARTS_PER_ORDER, 0, 0);
+	}
+
+	@AfterEach
+	void deleteFixture() {
+		fixture.delete(jdbcTemplate);
+	}
+
+	@Test
+	void batchedInsertsAreFasterThanOneStatementPerRow() {
+		// Warm up connections, sequences and the JIT on both paths
+		insertOrders(ORDERS_PER_TRANSACTION, null);
+		insertOrders(ORDERS_PER_TRANSACTION, 1);
+
+		double unbatched = insertOrders(ORDERS, 1);
+		double batched = insertOrders(ORDERS, null);
+		System.out.printf("Order inserts (%d orders x %d carts): batch size 1 = %.0f rows/s, batched = %.0f rows/s (x%.1f)%n",
+				ORDERS, CARTS_PER_ORDER, unbatched, batched, batched / unbatched);
+		assertTrue(batched > unbatched, "Batched inserts should beat one statement per row");
+	}
+
+	/**
+	 * @param batchSize JDBC batch size for the session, null for the configured one
+	 * @return inserted rows (orders + carts) per second
+	 */
+	private double insertOrders(int orders, Integer batchSize) {
+		long start = System.nanoTime();
+		for (int done = 0; done < orders; done += ORDERS_PER_TRANSACTION) {
+			int count = Math.min(ORDERS_PER_TRANSACTION, orders - done);
+			transactionTemplate.executeWithoutResult(status -> {
+				if (batchSize != null) {
+					entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+				}
+				Student student = entityManager.getReference(Student.class, fixture.studentId);
+				for (int i = 0; i < count; i++) {
+					entityManager.persist(newOrder(student));
+				}
+				entityManager.flush();
+			});
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		return orders * (1 + CARTS_PER_ORDER) / seconds;
+	}
+
+	private Order newOrder(Student student) {
+		Order order = new Order();
+		order.setStudent(student);
+		order.setTime(LocalDateTime.now());
+		order.setPaymentMethod("WALLET");
+		order.setTransactionId(transactionIdGenerator.nextTransactionId());
+		order.setItemsServed(0);
+		order.setDiscountPercentage(0);
+		order.setOrderStatus(OrderStatus.SERVED);
+		order.setIsServed(true);
+		order.setQty(CARTS_PER_ORDER);
+		order.setAmount(CARTS_PER_ORDER * 10);
+		for (Long itemId : fixture.itemIds) {
+			Cart cart = new Cart();
+			cart.setItem(entityManager.getReference(ItemMaster.class, itemId));
+			cart.setQtyOrdered(1);
+			cart.setNetPrice(10);
+			order.addCart(cart);
+		}
+		return order;
+	}
+}
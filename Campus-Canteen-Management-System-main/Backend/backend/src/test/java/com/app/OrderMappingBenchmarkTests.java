@@ -0,0 +1,158 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import com.app.dto.CartDTO;
+import com.app.dto.OrderDTO;
+import com.app.entities.Cart;
+import com.app.entities.ItemCategory;
+import com.app.entities.ItemGenre;
+import com.app.entities.ItemMaster;
+import com.app.entities.Order;
+import com.app.entities.OrderStatus;
+import com.app.entities.Student;
+import com.app.mapper.DtoMapperImpl;
+
+/**
+ * Order -> OrderDTO per row: the STRICT ModelMapper mapping the services used
+ * before DtoMapperImpl (same configuration and the same student and cart
+ * patching afterwards) against the plain getter/setter mapping. No database
+ * or Spring context; JMH runs in the test JVM and the scores are printed.
+ * Public because the JMH generated classes live in a sub-package. Runs with
+ * -Pbenchmarks only.
+ */
+@Tag("benchmark")
+public class OrderMappingBenchmarkTests {
+
+	private static final int CARTS_PER_ORDER = 6;
+
+	@State(Scope.Thread)
+	public static class Mappers {
+		ModelMapper modelMapper;
+		DtoMapperImpl dtoMapper;
+		Order order;
+
+		@Setup
+		public void setUp() {
+			// As the ModelMapper bean was configured in Application
+			modelMapper = new ModelMapper();
+			modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT)
+					.setPropertyCondition(Conditions.isNotNull());
+			dtoMapper = new DtoMapperImpl();
+			order = sampleOrder();
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public OrderDTO modelMapper(Mappers mappers) {
+		return toOrderDTOWithModelMapper(mappers.modelMapper, mappers.order);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public OrderDTO dtoMapper(Mappers mappers) {
+		return mappers.dtoMapper.toOrderDTO(mappers.order);
+	}
+
+	@Test
+	void compareModelMapperWithDtoMapper() throws Exception {
+		// Forks 0: surefire's booter classpath is not reliably passed on to a forked JVM
+		Options options = new OptionsBuilder()
+				.include(OrderMappingBenchmarkTests.class.getName() + "\\.")
+				.forks(0)
+				.warmupIterations(3)
+				.warmupTime(TimeValue.seconds(1))
+				.measurementIterations(5)
+				.measurementTime(TimeValue.seconds(1))
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+		System.out.println("Order -> OrderDTO with " + CARTS_PER_ORDER + " carts:");
+		for (RunResult result : results) {
+			System.out.printf("  %-12s %.0f ns/op%n", result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+					result.getPrimaryResult().getScore());
+		}
+		assertEquals(2, results.size());
+	}
+
+	// The old OrderServiceImpl.toOrderDTO, verbatim apart from the mapper parameter
+	private static OrderDTO toOrderDTOWithModelMapper(ModelMapper mapper, Order order) {
+		OrderDTO orderDTO = mapper.map(order, OrderDTO.class);
+		if (order.getStudent() != null) {
+			orderDTO.setStudentId(order.getStudent().getStudentId());
+			orderDTO.setStudentName(order.getStudent().getName());
+		}
+		if (order.getCartList() != null && !order.getCartList().isEmpty()) {
+			orderDTO.setCartList(order.getCartList().stream()
+					.map(cart -> {
+						CartDTO cartDTO = mapper.map(cart, CartDTO.class);
+						if (cart.getItem() != null) {
+							cartDTO.setItemName(cart.getItem().getItemName());
+							cartDTO.setItemId(cart.getItem().getId());
+							cartDTO.setPrice(cart.getItem().getItemPrice());
+						}
+						return cartDTO;
+					})
+					.collect(Collectors.toList()));
+		}
+		return orderDTO;
+	}
+
+	private static Order sampleOrder() {
+		Student student = new Student();
+		student.setStudentId(1L);
+		student.setName("Benchmark Student");
+		Order order = new Order();
+		order.setOrderId(1L);
+		order.setStudent(student);
+		order.setTime(LocalDateTime.now());
+		order.setPaymentMethod("WALLET");
+		order.setTransactionId("TXN1");
+		order.setItemsServed(0);
+		order.setDiscountPercentage(0);
+		order.setOrderStatus(OrderStatus.PENDING);
+		order.setIsServed(false);
+		order.setQty(CARTS_PER_ORDER);
+		order.setAmount(CARTS_PER_ORDER * 10);
+		for (long i = 1; i <= CARTS_PER_ORDER; i++) {
+			ItemMaster item = new ItemMaster();
+			item.setId(i);
+			item.setItemName("Item " + i);
+			item.setItemPrice(10);
+			item.setItemCategory(ItemCategory.Snacks);
+			item.setItemGenre(ItemGenre.SouthIndian);
+			Cart cart = new Cart();
+			cart.setCartId(i);
+			cart.setItem(item);
+			cart.setQtyOrdered(1);
+			cart.setNetPrice(10);
+			order.addCart(cart);
+		}
+		return order;
+	}
+}
@@ -0,0 +1,125 @@
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.entities.OrderStatus;
+import com.app.repository.CartRepository;
+import com.app.repository.ItemDailyRepository;
+import com.app.repository.ItemMasterRepository;
+import com.app.repository.OrderRepository;
+import com.app.repository.StudentRepository;
+import com.app.service.OrderService;
+
+/**
+ * The order listings must run a fixed number of SQL statements, however many
+ * orders and cart lines they return (no N+1 on carts, items or students).
+ * Counts prepared statements with Hibernate statistics against the database
+ * configured in application.properties. The periodic reloads are pushed out
+ * so they do not add statements while a listing is measured. The pending
+ * listing is answered by KitchenQueue without any statement once it is
+ * loaded, so its database fallback is measured through the repositories.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"kitchen.queue.reconcile-ms=3600000",
+		"stock.ledger.resync-ms=3600000",
+		"wallet.snapshot.compact-ms=3600000" })
+class OrderQueryCountTests {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private ItemMasterRepository itemMasterRepository;
+	@Autowired
+	private ItemDailyRepository itemDailyRepository;
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private CartRepository cartRepository;
+	@Autowired
+	private OrderService orderService;
+
+	private OrderFixture fixture;
+	private final List<Long> orderIds = new ArrayList<>();
+
+	@BeforeEach
+	void createFixture() {
+		fixture = OrderFixture.create(new TransactionTemplate(transactionManager), studentRepository,
+				itemMasterRepository, itemDailyRepository, 3, 100, 100_000);
+	}
+
+	@AfterEach
+	void deleteFixture() {
+		fixture.delete(jdbcTemplate);
+	}
+
+	@Test
+	void listingsRunTheSameStatementsForOneOrManyOrders() {
+		placeOrders(1, 1);
+		long byStudentOne = statements(() -> orderService.getAllOrdersByStudentId(fixture.studentId));
+		long pendingOne = statements(this::pendingFromDatabase);
+		long servedOne = statements(() -> orderService.getOrdersByStatus(OrderStatus.SERVED));
+		long byIdOneLine = statements(() -> orderService.getOrderById(orderIds.get(0)));
+
+		placeOrders(9, 3);
+		long byStudentMany = statements(() -> orderService.getAllOrdersByStudentId(fixture.studentId));
+		long pendingMany = statements(this::pendingFromDatabase);
+		long servedMany = statements(() -> orderService.getOrdersByStatus(OrderStatus.SERVED));
+		long byIdManyLines = statements(() -> orderService.getOrderById(orderIds.get(orderIds.size() - 1)));
+
+		assertEquals(byStudentOne, byStudentMany, "getAllOrdersByStudentId");
+		assertEquals(2, pendingOne, "getOrdersByStatus(PENDING) before the kitchen queue is loaded");
+		assertEquals(pendingOne, pendingMany, "getOrdersByStatus(PENDING) before the kitchen queue is loaded");
+		assertEquals(servedOne, servedMany, "getOrdersByStatus(SERVED)");
+		assertEquals(byIdOneLine, byIdManyLines, "getOrderById");
+	}
+
+	// Places orders of the given number of lines; every other one is marked SERVED
+	private void placeOrders(int count, int lines) {
+		for (int i = 0; i < count; i++) {
+			Long orderId = orderService.placeOrder(fixture.studentId, fixture.request(lines)).getOrderId();
+			orderIds.add(orderId);
+			if (orderIds.size() % 2 == 0) {
+				orderService.updateOrderStatus(orderId, OrderStatus.SERVED);
+			}
+		}
+	}
+
+	// The queries getOrdersByStatus(PENDING) runs while the kitchen queue is still loading
+	private Object pendingFromDatabase() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		return readOnly.execute(status -> List.of(orderRepository.findDTOsByOrderStatus(OrderStatus.PENDING),
+				cartRepository.findDTOsByOrderStatus(OrderStatus.PENDING)));
+	}
+
+	private long statements(Supplier<?> listing) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		listing.get();
+		return statistics.getPrepareStatementCount();
+	}
+}
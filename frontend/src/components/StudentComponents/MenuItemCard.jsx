@@ -10,6 +10,7 @@ import {
     useTheme
 } from "@mui/material";
 import { tokens } from "../../theme";
+import { assetUrl } from "../../services/api";
 import defimg from '../../assets/pick-meals-image.png';
 import AddIcon from '@mui/icons-material/Add';
 import RemoveIcon from '@mui/icons-material/Remove';
@@ -34,7 +35,7 @@ const MenuItemCard = ({ item, orderQty, onAdd, onRemove }) => {
             <CardMedia
                 component="img"
                 height="140"
-                image={item.itemImage || item.itemImgLink || "/foodimages/dosa.jpg"}
+                image={assetUrl(item.itemImage, "card") || item.itemImgLink || "/foodimages/dosa.jpg"}
                 alt={item.itemName}
                 sx={{
                     objectFit: 'cover',
@@ -41,10 +41,7 @@ export default function PlaceOrder() {
         throw new Error("Insufficient balance in wallet!");
       }
 
-      // 1. Deduct balance
-      await StudentService.deductBalance(studentId, totalAmount);
-
-      // 2. Create Order in backend
+      // Create Order in backend (the backend debits the wallet in the same transaction)
       // Backend expects PlaceOrderRequest with items list
       const orderPayload = {
         studentId: studentId,
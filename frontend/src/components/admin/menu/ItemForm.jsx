@@ -8,12 +8,13 @@ import PlaylistAddIcon from '@mui/icons-material/PlaylistAdd';
 import EditIcon from "@mui/icons-material/Edit";
 import CloudUploadIcon from '@mui/icons-material/CloudUpload';
 import DeleteIcon from '@mui/icons-material/Delete';
+import { assetUrl } from "../../../services/api";
 
 export default function ItemForm(props) {
     const isNonMobile = useMediaQuery("(min-width:600px)");
     const [imagePreview, setImagePreview] = useState(
         props.action === "edit" && props.itemData?.itemImage
-            ? props.itemData.itemImage
+            ? assetUrl(props.itemData.itemImage)
             : ""
     );
 
@@ -229,7 +230,7 @@ export default function ItemForm(props) {
                                             <input
                                                 type="file"
                                                 hidden
-                                                accept="image/*"
+                                                accept="image/jpeg,image/png,image/webp,image/gif"
                                                 onChange={(e) => handleImageChange(e, setFieldValue)}
                                             />
                                         </Button>
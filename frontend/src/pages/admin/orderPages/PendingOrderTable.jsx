@@ -17,6 +17,31 @@ export default function PendingOrderTable() {
 
   useEffect(() => {
     loadPendingOrders();
+
+    // Live updates instead of reloading the whole list
+    const unsubscribe = OrderService.subscribeToOrderStream((type, order) => {
+      if (type === "RESYNC") {
+        loadPendingOrders();
+      } else if (type === "ORDER_PLACED" && order?.orderStatus === "PENDING") {
+        setPendingOrders((orders) =>
+          orders.some((o) => o.orderId === order.orderId) ? orders : [...orders, order]
+        );
+      } else if (type === "ORDER_STATUS_CHANGED" && order) {
+        setPendingOrders((orders) =>
+          order.orderStatus === "PENDING"
+            ? orders.map((o) => (o.orderId === order.orderId ? order : o))
+            : orders.filter((o) => o.orderId !== order.orderId)
+        );
+      } else if (type === "ORDERS_STATUS_CHANGED" && order) {
+        if (order.orderStatus === "PENDING") {
+          loadPendingOrders();
+        } else {
+          const moved = new Set(order.orderIds);
+          setPendingOrders((orders) => orders.filter((o) => !moved.has(o.orderId)));
+        }
+      }
+    });
+    return unsubscribe;
   }, []);
 
   const loadPendingOrders = async () => {
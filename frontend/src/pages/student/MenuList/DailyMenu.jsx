@@ -21,6 +21,7 @@ import {
 } from "@mui/material";
 import { tokens } from "../../../theme";
 import ItemDailyService from "../../../services/ItemDailyService";
+import { assetUrl } from "../../../services/api";
 import { useNavigate } from "react-router-dom";
 import defimg from '../../../assets/pick-meals-image.png';
 // Use dosa image as default for menu items
@@ -140,7 +141,7 @@ export default function DailyMenu() {
                     component="img"
                     height="160"
                     // Use itemImage if available (new field), else itemImgLink (legacy), else dosa image
-                    image={item.itemImage || item.itemImgLink || "/foodimages/dosa.jpg"}
+                    image={assetUrl(item.itemImage, "card") || item.itemImgLink || "/foodimages/dosa.jpg"}
                     alt={item.itemName}
                     onError={(e) => { e.target.src = "/foodimages/dosa.jpg"; }} // Fallback to dosa image
                     sx={{
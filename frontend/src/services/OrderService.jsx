@@ -68,6 +68,16 @@ class OrderService {
         }
     }
 
+    // Moves several orders to one status in a single request; returns per-id outcomes
+    async updateOrderStatuses(orderIds, status) {
+        try {
+            const response = await api.put('/orders/status', { orderIds, status });
+            return response.data;
+        } catch (error) {
+            throw error.response?.data || error.message;
+        }
+    }
+
     async deleteOrder(orderId) {
         try {
             const response = await api.delete(`/orders/${orderId}`);
@@ -76,6 +86,64 @@ class OrderService {
             throw error.response?.data || error.message;
         }
     }
+
+    // Live order events (GET /orders/stream, Server-Sent Events).
+    // EventSource cannot send the JWT header, so the stream is read with fetch.
+    // Reconnects with the last seen event id; returns a function that stops it.
+    subscribeToOrderStream(onEvent) {
+        const baseURL = import.meta.env.PROD ? import.meta.env.VITE_API_BASE_URL : '';
+        let lastEventId = null;
+        let controller = null;
+        let stopped = false;
+
+        const connect = async () => {
+            controller = new AbortController();
+            const headers = { Authorization: `Bearer ${localStorage.getItem('token')}` };
+            if (lastEventId) {
+                headers['Last-Event-ID'] = lastEventId;
+            }
+            try {
+                const response = await fetch(`${baseURL}/orders/stream`, { headers, signal: controller.signal });
+                if (!response.ok || !response.body) {
+                    throw new Error(`Order stream failed: ${response.status}`);
+                }
+                const reader = response.body.getReader();
+                const decoder = new TextDecoder();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += decoder.decode(value, { stream: true });
+                    let end;
+                    while ((end = buffer.indexOf('\n\n')) >= 0) {
+                        const block = buffer.slice(0, end);
+                        buffer = buffer.slice(end + 2);
+                        let id = null, name = 'message', data = '';
+                        for (const line of block.split('\n')) {
+                            if (line.startsWith('id:')) id = line.slice(3).trim();
+                            else if (line.startsWith('event:')) name = line.slice(6).trim();
+                            else if (line.startsWith('data:')) data += line.slice(5);
+                        }
+                        if (id === null && data === '' && name === 'message') continue; // heartbeat
+                        if (id !== null) lastEventId = id;
+                        onEvent(name, data ? JSON.parse(data) : null);
+                    }
+                }
+            } catch (error) {
+                if (stopped) return;
+                console.error('Order stream disconnected', error);
+            }
+            if (!stopped) {
+                setTimeout(connect, 2000);
+            }
+        };
+
+        connect();
+        return () => {
+            stopped = true;
+            controller?.abort();
+        };
+    }
 }
 
 export default new OrderService();
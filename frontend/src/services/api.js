@@ -7,4 +7,14 @@ const api = axios.create({
     }
 });
 
+// Item pictures come back as API-relative URLs (/items/{id}/image?v=...);
+// data URLs and absolute links are passed through unchanged. size picks a
+// smaller rendition of an item picture ("thumb" or "card").
+export const assetUrl = (path, size) => {
+    if (!path || !path.startsWith("/")) {
+        return path;
+    }
+    return api.defaults.baseURL + path + (size ? (path.includes("?") ? "&" : "?") + "size=" + size : "");
+};
+
 export default api;